@@ -3,6 +3,7 @@ package com.att.cassandra.autoconfig;
 import com.att.cassandra.client.AzureAdAuthProvider;
 import com.att.cassandra.client.AzureAdTokenProvider;
 import com.att.cassandra.client.SslUtil;
+import com.att.cassandra.client.TokenProviderRegistry;
 import com.datastax.oss.driver.api.core.CqlSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,19 +25,20 @@ public class CassandraMfaAutoConfiguration {
     public AzureAdTokenProvider azureAdTokenProvider(CassandraMfaProperties props) {
         log.info("Creating AzureAdTokenProvider bean for tenant: {}", props.getTenantId());
         log.debug("Azure AD configuration - clientId: {}, scope: {}", props.getClientId(), props.getScope());
-        return new AzureAdTokenProvider(
+        return TokenProviderRegistry.acquire(
                 props.getTenantId(),
                 props.getClientId(),
                 props.getClientSecret(),
-                props.getScope()
+                props.getScope(),
+                props.getToken()
         );
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public AzureAdAuthProvider azureAdAuthProvider(AzureAdTokenProvider tokenProvider) {
+    public AzureAdAuthProvider azureAdAuthProvider(CassandraMfaProperties props, AzureAdTokenProvider tokenProvider) {
         log.info("Creating AzureAdAuthProvider bean");
-        return new AzureAdAuthProvider(tokenProvider);
+        return new AzureAdAuthProvider(tokenProvider, false, props.getAuth());
     }
 
     @Bean
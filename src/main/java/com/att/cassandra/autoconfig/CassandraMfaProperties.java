@@ -2,6 +2,8 @@ package com.att.cassandra.autoconfig;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import com.att.cassandra.client.AuthProviderOptions;
+import com.att.cassandra.client.TokenProviderOptions;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -17,4 +19,6 @@ public class CassandraMfaProperties {
     private String localDc;
     private String truststore;
     private String truststorePassword;
+    private TokenProviderOptions token = new TokenProviderOptions();
+    private AuthProviderOptions auth = new AuthProviderOptions();
 }
\ No newline at end of file
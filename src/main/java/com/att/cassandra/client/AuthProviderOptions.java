@@ -0,0 +1,53 @@
+package com.att.cassandra.client;
+
+import java.time.Duration;
+
+/**
+ * Admission control for SASL handshakes in {@link AzureAdAuthProvider}.
+ */
+public class AuthProviderOptions {
+
+    // In-flight handshakes per session, and per node within that session
+    private int maxConcurrentHandshakes = 32;
+    private int maxConcurrentHandshakesPerNode = 4;
+
+    // Handshakes allowed to wait for a slot before new ones are rejected
+    private int maxQueuedHandshakes = 1024;
+
+    // The driver doesn't report failed handshakes, so a slot is given back after this long regardless,
+    // and a token no node has accepted in the meantime is invalidated; handshakes still queued after
+    // this long give up their place
+    private Duration handshakeTimeout = Duration.ofSeconds(10);
+
+    public int getMaxConcurrentHandshakes() {
+        return maxConcurrentHandshakes;
+    }
+
+    public void setMaxConcurrentHandshakes(int maxConcurrentHandshakes) {
+        this.maxConcurrentHandshakes = maxConcurrentHandshakes;
+    }
+
+    public int getMaxConcurrentHandshakesPerNode() {
+        return maxConcurrentHandshakesPerNode;
+    }
+
+    public void setMaxConcurrentHandshakesPerNode(int maxConcurrentHandshakesPerNode) {
+        this.maxConcurrentHandshakesPerNode = maxConcurrentHandshakesPerNode;
+    }
+
+    public int getMaxQueuedHandshakes() {
+        return maxQueuedHandshakes;
+    }
+
+    public void setMaxQueuedHandshakes(int maxQueuedHandshakes) {
+        this.maxQueuedHandshakes = maxQueuedHandshakes;
+    }
+
+    public Duration getHandshakeTimeout() {
+        return handshakeTimeout;
+    }
+
+    public void setHandshakeTimeout(Duration handshakeTimeout) {
+        this.handshakeTimeout = handshakeTimeout;
+    }
+}
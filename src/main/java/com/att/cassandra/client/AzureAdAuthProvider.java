@@ -9,18 +9,71 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class AzureAdAuthProvider implements AuthProvider {
 
     private static final Logger log = LoggerFactory.getLogger(AzureAdAuthProvider.class);
 
     private final AzureAdTokenProvider tokenProvider;
+    private final boolean closeTokenProvider;
+    private final HandshakeAdmission admission;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // token each pending handshake presented, until it succeeds or ends; keyed by handshake, since a
+    // node can have several at once
+    private final Map<JwtTokenAuthenticator, AzureAdTokenProvider.CachedToken> presented = new ConcurrentHashMap<>();
 
     public AzureAdAuthProvider(AzureAdTokenProvider tokenProvider) {
+        this(tokenProvider, false);
+    }
+
+    /**
+     * @param closeTokenProvider whether closing the session (and so this provider) also closes the token provider
+     */
+    public AzureAdAuthProvider(AzureAdTokenProvider tokenProvider, boolean closeTokenProvider) {
+        this(tokenProvider, closeTokenProvider, new AuthProviderOptions());
+    }
+
+    public AzureAdAuthProvider(AzureAdTokenProvider tokenProvider, boolean closeTokenProvider, AuthProviderOptions options) {
         this.tokenProvider = tokenProvider;
-        log.info("AzureAdAuthProvider initialized");
+        this.closeTokenProvider = closeTokenProvider;
+        this.admission = new HandshakeAdmission(options);
+        log.info("AzureAdAuthProvider initialized (max {} concurrent handshakes, {} per node)",
+                options.getMaxConcurrentHandshakes(), options.getMaxConcurrentHandshakesPerNode());
+    }
+
+    public int getInFlightHandshakes() {
+        return admission.getInFlight();
+    }
+
+    public int getQueuedHandshakes() {
+        return admission.getQueued();
+    }
+
+    public long getRejectedHandshakes() {
+        return admission.getRejected();
+    }
+
+    /**
+     * Handshakes that gave up waiting for a slot within the handshake timeout.
+     */
+    public long getTimedOutHandshakes() {
+        return admission.getTimedOut();
+    }
+
+    /**
+     * Average time handshakes spent waiting for a slot, over the life of this provider.
+     */
+    public double getAverageHandshakeQueueTimeMillis() {
+        long admitted = admission.getAdmitted();
+        return admitted == 0 ? 0 : admission.getTotalQueueTimeNanos() / 1_000_000.0 / admitted;
     }
 
     @NonNull
@@ -28,7 +81,30 @@ public class AzureAdAuthProvider implements AuthProvider {
     public Authenticator newAuthenticator(@NonNull EndPoint endPoint, @NonNull String serverAuthenticator)
             throws AuthenticationException {
         log.debug("Creating new authenticator for endpoint: {}, server authenticator: {}", endPoint, serverAuthenticator);
-        return new JwtTokenAuthenticator(tokenProvider);
+        return new JwtTokenAuthenticator(tokenProvider, admission, endPoint, presented);
+    }
+
+    /**
+     * Invalidates the tokens pending handshakes presented to the node that rejected them, without
+     * waiting for those handshakes to end (see {@link JwtTokenAuthenticator}). For callers that see the
+     * driver's {@link AuthenticationException}, such as a failed session build. Returns false if no
+     * pending handshake to that node presented a token, or it had already been replaced.
+     */
+    public boolean onAuthenticationRejected(AuthenticationException rejection) {
+        Set<AzureAdTokenProvider.CachedToken> tokens = new HashSet<>();
+        presented.entrySet().removeIf(entry -> {
+            if (entry.getKey().endPoint.equals(rejection.getEndPoint())) {
+                tokens.add(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        boolean invalidated = false;
+        for (AzureAdTokenProvider.CachedToken token : tokens) {
+            log.warn("Authentication to {} was rejected, invalidating the token it used", rejection.getEndPoint());
+            invalidated |= tokenProvider.invalidate(token);
+        }
+        return invalidated;
     }
 
     @Override
@@ -38,41 +114,100 @@ public class AzureAdAuthProvider implements AuthProvider {
 
     @Override
     public void close() {
+        // the driver also closes us when a session fails to initialize; only release the token provider once
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (closeTokenProvider) {
+            tokenProvider.close();
+        }
         log.debug("AzureAdAuthProvider closed");
     }
 
+    /**
+     * One SASL PLAIN handshake, presenting the current Azure AD token.
+     *
+     * The driver tells an authenticator about success but not about rejection: it just fails the
+     * connection and later opens another one, with a new authenticator. So a handshake that hasn't
+     * succeeded by the handshake timeout either stalled or was rejected. If no handshake, to any node,
+     * has accepted its token since it was presented, the token is treated as rejected and invalidated;
+     * otherwise the token is known to work and the handshake is taken to have stalled.
+     */
     public static class JwtTokenAuthenticator implements Authenticator {
 
         private static final Logger log = LoggerFactory.getLogger(JwtTokenAuthenticator.class);
 
         private final AzureAdTokenProvider tokenProvider;
+        private final HandshakeAdmission admission;
+        private final EndPoint endPoint;
+        private final Map<JwtTokenAuthenticator, AzureAdTokenProvider.CachedToken> presentedTokens;
+        private volatile HandshakeAdmission.Permit permit;
+        private volatile AzureAdTokenProvider.CachedToken presented;
+        private volatile long presentedAtNanos;
 
         public JwtTokenAuthenticator(AzureAdTokenProvider tokenProvider) {
+            this(tokenProvider, null, null, null);
+        }
+
+        JwtTokenAuthenticator(AzureAdTokenProvider tokenProvider,
+                              HandshakeAdmission admission,
+                              EndPoint endPoint,
+                              Map<JwtTokenAuthenticator, AzureAdTokenProvider.CachedToken> presentedTokens) {
             this.tokenProvider = tokenProvider;
+            this.admission = admission;
+            this.endPoint = endPoint;
+            this.presentedTokens = presentedTokens;
             log.trace("JwtTokenAuthenticator created");
         }
 
         @Override
         public CompletionStage<ByteBuffer> initialResponse() {
             log.debug("Preparing initial authentication response with JWT token");
-            try {
-                String username = "";
-                String password = tokenProvider.getToken();  // JWT
-
-                byte[] u = username.getBytes();
-                byte[] p = password.getBytes();
-
-                ByteBuffer buffer = ByteBuffer.allocate(u.length + 1 + p.length);
-                buffer.put(u);
-                buffer.put((byte) 0);  // username/password separator
-                buffer.put(p);
-                buffer.flip();
-
-                log.debug("Initial authentication response prepared successfully (token length: {} bytes)", p.length);
-                return CompletableFuture.completedFuture(buffer);
-            } catch (Exception e) {
-                log.error("Failed to prepare initial authentication response", e);
-                throw e;
+            // Runs on the driver's I/O thread, so never block here waiting for Azure AD.
+            // The payload is encoded once per token by the provider; we get a read-only view of it.
+            CompletionStage<ByteBuffer> response = admission == null
+                    ? presentToken()
+                    : admission.acquire(endPoint, this::onHandshakeIncomplete).thenCompose(granted -> {
+                        permit = granted;
+                        return presentToken();
+                    });
+            return response
+                    .whenComplete((buffer, error) -> {
+                        if (error != null) {
+                            releasePermit();
+                            log.error("Failed to prepare initial authentication response", error);
+                        } else {
+                            log.debug("Initial authentication response prepared successfully (payload length: {} bytes)",
+                                    buffer.remaining());
+                        }
+                    });
+        }
+
+        private CompletionStage<ByteBuffer> presentToken() {
+            return tokenProvider.currentToken().thenApply(token -> {
+                presentedAtNanos = System.nanoTime();
+                presented = token;
+                if (presentedTokens != null) {
+                    presentedTokens.put(this, token);
+                }
+                return token.saslPayload.duplicate();
+            });
+        }
+
+        /**
+         * Runs when the handshake hasn't succeeded within the handshake timeout; see the class comment.
+         */
+        private void onHandshakeIncomplete() {
+            AzureAdTokenProvider.CachedToken token = forgetPresented();
+            if (token == null) {
+                log.debug("Authentication to {} did not complete within the handshake timeout", endPoint);
+            } else if (token.acceptedSince(presentedAtNanos)) {
+                log.debug("Authentication to {} did not complete within the handshake timeout; "
+                        + "its token has been accepted since, so leaving it alone", endPoint);
+            } else {
+                log.warn("Authentication to {} did not succeed and no node has accepted its token since; "
+                        + "invalidating the token", endPoint);
+                tokenProvider.invalidate(token);
             }
         }
 
@@ -84,8 +219,33 @@ public class AzureAdAuthProvider implements AuthProvider {
 
         @Override
         public CompletionStage<Void> onAuthenticationSuccess(ByteBuffer token) {
+            AzureAdTokenProvider.CachedToken accepted = presented;
+            if (accepted != null) {
+                accepted.markAccepted();
+            }
+            forgetPresented();
+            releasePermit();
             log.info("Authentication successful");
             return CompletableFuture.completedFuture(null);
         }
+
+        /**
+         * Stops tracking this handshake's token and returns it, or null if there was none or a reported
+         * rejection has already dealt with it.
+         */
+        private AzureAdTokenProvider.CachedToken forgetPresented() {
+            AzureAdTokenProvider.CachedToken token = presented;
+            if (token == null || (presentedTokens != null && !presentedTokens.remove(this, token))) {
+                return null;
+            }
+            return token;
+        }
+
+        private void releasePermit() {
+            HandshakeAdmission.Permit held = permit;
+            if (held != null) {
+                held.release();
+            }
+        }
     }
 }
\ No newline at end of file
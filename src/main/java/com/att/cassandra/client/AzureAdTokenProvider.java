@@ -7,28 +7,83 @@ import com.azure.identity.ClientSecretCredentialBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
-public class AzureAdTokenProvider {
+public class AzureAdTokenProvider implements AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(AzureAdTokenProvider.class);
 
     // How many seconds before expiry we proactively refresh
-    private static final Duration SKEW = Duration.ofMinutes(2);
-    private static final int MAX_RETRIES = 3;
-    private static final long RETRY_BACKOFF_MS = 1000L;
+    static final Duration SKEW = Duration.ofMinutes(2);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final DecorrelatedJitterBackoff BACKOFF = new DecorrelatedJitterBackoff(200L, 5000L);
+
+    // Floor for background refresh delays, so short-lived tokens can't spin the refresher
+    private static final Duration MIN_REFRESH_DELAY = Duration.ofSeconds(30);
+    private static final Duration REFRESH_RETRY_DELAY = Duration.ofSeconds(15);
+
+    // One daemon thread shared by every provider in the JVM
+    private static final ScheduledExecutorService REFRESH_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "azure-ad-token-refresh");
+                t.setDaemon(true);
+                return t;
+            });
 
     private final ClientSecretCredential credential;
     private final String scope;
+    private final RefreshWindowPolicy refreshPolicy;
+    private final boolean staleWhileRevalidate;
+    private final Duration hardExpiryGrace;
+    private final PersistentTokenCache persistentCache;
+    private final TokenCircuitBreaker circuitBreaker;
 
     // cached token
-    private volatile AccessToken cachedToken;
+    private final AtomicReference<CachedToken> cachedToken;
+
+    // token request currently on the wire, shared by every caller
+    private final AtomicReference<CompletableFuture<CachedToken>> inFlight;
+
+    // background refresh state
+    private final AtomicReference<ScheduledFuture<?>> scheduledRefresh;
+    private final AtomicBoolean closed;
+    private final AtomicLong missedRefreshes;
+
+    // last token the server rejected, so it is never picked up again from the persistent cache
+    private final AtomicReference<String> rejectedToken;
+
+    // set on the handles TokenProviderRegistry hands out; each holder releases its handle once
+    private final TokenProviderRegistry.Key registryKey;
+    private final AtomicBoolean released = new AtomicBoolean();
 
     public AzureAdTokenProvider(String tenantId,
                                 String clientId,
                                 String clientSecret,
                                 String scope) {
+        this(tenantId, clientId, clientSecret, scope, new TokenProviderOptions());
+    }
+
+    public AzureAdTokenProvider(String tenantId,
+                                String clientId,
+                                String clientSecret,
+                                String scope,
+                                TokenProviderOptions options) {
+
+        options.validate();
 
         this.credential = new ClientSecretCredentialBuilder()
                 .tenantId(tenantId)
@@ -37,34 +92,151 @@ public class AzureAdTokenProvider {
                 .build();
 
         this.scope = scope;
+        this.refreshPolicy = new RefreshWindowPolicy(options.getRefreshLeadTime(), options.getRefreshAtLifetimeFraction(),
+                options.getRefreshJitterFraction());
+        this.staleWhileRevalidate = options.isStaleWhileRevalidate();
+        this.hardExpiryGrace = options.getHardExpiryGrace() != null ? options.getHardExpiryGrace() : Duration.ZERO;
+        this.persistentCache = options.getPersistentCacheDir() != null
+                ? new PersistentTokenCache(options.getPersistentCacheDir(), tenantId, clientId, clientSecret, scope)
+                : null;
+        this.circuitBreaker = new TokenCircuitBreaker(options.getCircuitFailureThreshold(), options.getCircuitOpenDuration());
+        this.cachedToken = new AtomicReference<>();
+        this.inFlight = new AtomicReference<>();
+        this.scheduledRefresh = new AtomicReference<>();
+        this.closed = new AtomicBoolean();
+        this.missedRefreshes = new AtomicLong();
+        this.rejectedToken = new AtomicReference<>();
+        this.registryKey = null;
+
+        log.debug("AzureAdTokenProvider created - background refresh: {}, stale-while-revalidate: {}",
+                refreshPolicy.isEnabled() ? refreshPolicy : "disabled", staleWhileRevalidate);
+    }
+
+    /**
+     * A handle onto {@code shared}'s token state for one {@link TokenProviderRegistry} user. The
+     * handle shares the credential, the cached token and the refresher; only {@link #close()} is its own.
+     */
+    AzureAdTokenProvider(AzureAdTokenProvider shared, TokenProviderRegistry.Key registryKey) {
+        this.credential = shared.credential;
+        this.scope = shared.scope;
+        this.refreshPolicy = shared.refreshPolicy;
+        this.staleWhileRevalidate = shared.staleWhileRevalidate;
+        this.hardExpiryGrace = shared.hardExpiryGrace;
+        this.persistentCache = shared.persistentCache;
+        this.circuitBreaker = shared.circuitBreaker;
+        this.cachedToken = shared.cachedToken;
+        this.inFlight = shared.inFlight;
+        this.scheduledRefresh = shared.scheduledRefresh;
+        this.closed = shared.closed;
+        this.missedRefreshes = shared.missedRefreshes;
+        this.rejectedToken = shared.rejectedToken;
+        this.registryKey = registryKey;
     }
 
     /**
      * Thread-safe token retrieval with caching and proactive refresh.
+     * Blocks the calling thread while a token request is on the wire; prefer {@link #getTokenAsync()}
+     * on event-loop threads. No monitors are taken, so virtual threads park here without pinning.
      */
     public String getToken() {
         try {
-            AccessToken token = cachedToken;
-
-            if (token == null || isExpiringSoon(token)) {
-                synchronized (this) {
-                    // double-check inside lock
-                    token = cachedToken;
-                    if (token == null || isExpiringSoon(token)) {
-                        cachedToken = token = fetchTokenWithRetry();
-                    }
-                }
-            }
-
-            return token.getToken();
+            return currentToken().join().accessToken.getToken();
+        } catch (CompletionException e) {
+            log.error("Failed to acquire Azure AD token", e.getCause());
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
         } catch (RuntimeException e) {
             log.error("Failed to acquire Azure AD token", e);
             throw e;
         }
     }
 
-    private boolean isExpiringSoon(AccessToken token) {
-        OffsetDateTime expiresAt = token.getExpiresAt();
+    /**
+     * Non-blocking variant of {@link #getToken()}. Completes immediately from the cache, otherwise
+     * joins the single in-flight Azure AD request; retries back off on the refresh scheduler, not the caller.
+     */
+    public CompletionStage<String> getTokenAsync() {
+        return currentToken().thenApply(token -> token.accessToken.getToken());
+    }
+
+    /**
+     * Drops {@code rejected} after the server rejected it (revoked, wrong scope, ...) and starts one
+     * refresh, but only if it is still the cached token: any number of concurrent failures for the same
+     * token trigger exactly one single-flight refresh, and a token fetched since is never thrown away.
+     * Returns false if the token had already been replaced.
+     */
+    boolean invalidate(CachedToken rejected) {
+        if (!cachedToken.compareAndSet(rejected, null)) {
+            log.debug("Rejected Azure AD token was already replaced");
+            return false;
+        }
+        rejectedToken.set(rejected.accessToken.getToken());
+        log.warn("Azure AD token expiring at {} was rejected by the server; refreshing", rejected.expiresAt);
+        fetchToken(false);
+        return true;
+    }
+
+    public TokenCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Number of times the background refresher failed to renew the token before callers needed it.
+     */
+    public long getMissedRefreshCount() {
+        return missedRefreshes.get();
+    }
+
+    /**
+     * Providers obtained from {@link TokenProviderRegistry} only shut down once every user has closed
+     * them; closing the same handle again has no effect.
+     */
+    @Override
+    public void close() {
+        if (registryKey != null) {
+            if (released.compareAndSet(false, true)) {
+                TokenProviderRegistry.release(registryKey);
+            }
+        } else {
+            shutdown();
+        }
+    }
+
+    void shutdown() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        ScheduledFuture<?> pending = scheduledRefresh.getAndSet(null);
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        log.debug("AzureAdTokenProvider closed");
+    }
+
+    /**
+     * Fresh tokens come straight from the cache. With stale-while-revalidate, a token inside the
+     * refresh window is still handed out while one refresh runs; callers only wait once it is
+     * within {@code hardExpiryGrace} of expiring.
+     */
+    CompletableFuture<CachedToken> currentToken() {
+        CachedToken token = cachedToken.get();
+        if (token != null && !isExpiringSoon(token)) {
+            return CompletableFuture.completedFuture(token);
+        }
+        if (staleWhileRevalidate && token != null && isUsable(token)) {
+            log.trace("Serving cached Azure AD token while it is revalidated");
+            fetchToken(false);
+            return CompletableFuture.completedFuture(token);
+        }
+        return fetchToken(false);
+    }
+
+    private boolean isUsable(CachedToken token) {
+        OffsetDateTime expiresAt = token.expiresAt;
+        return expiresAt != null && expiresAt.minus(hardExpiryGrace).isAfter(OffsetDateTime.now());
+    }
+
+    private boolean isExpiringSoon(CachedToken token) {
+        OffsetDateTime expiresAt = token.expiresAt;
         if (expiresAt == null) {
             return true;
         }
@@ -72,33 +244,264 @@ public class AzureAdTokenProvider {
         return expiresAt.minus(SKEW).isBefore(now);
     }
 
-    private AccessToken fetchTokenWithRetry() {
+    /**
+     * Returns the cached token if it is still fresh (unless {@code force}), otherwise the shared
+     * in-flight request. Whoever installs the in-flight future by CAS starts the request; everyone
+     * else joins it.
+     */
+    private CompletableFuture<CachedToken> fetchToken(boolean force) {
+        while (true) {
+            CachedToken token = cachedToken.get();
+            if (!force && token != null && !isExpiringSoon(token)) {
+                return CompletableFuture.completedFuture(token);
+            }
+            CompletableFuture<CachedToken> pending = inFlight.get();
+            if (pending != null) {
+                return pending;
+            }
+            CompletableFuture<CachedToken> request = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, request)) {
+                startRequest(request, force);
+                return request;
+            }
+        }
+    }
+
+    // Only ever called by the thread that installed request as the in-flight future
+    private void startRequest(CompletableFuture<CachedToken> request, boolean force) {
+        // a request may have completed between our cache check and winning the CAS
+        CachedToken token = cachedToken.get();
+        if (!force && token != null && !isExpiringSoon(token)) {
+            finish(request, token, null);
+            return;
+        }
+        if (persistentCache != null) {
+            // file I/O and decryption stay off the caller, which may be the driver's event loop
+            REFRESH_SCHEDULER.execute(() -> requestFreshToken(request, token, force));
+        } else {
+            requestFreshToken(request, token, force);
+        }
+    }
+
+    private void requestFreshToken(CompletableFuture<CachedToken> request, CachedToken token, boolean force) {
+        CachedToken persisted = loadPersisted(token, force);
+        if (persisted != null) {
+            install(persisted);
+            finish(request, persisted, null);
+            return;
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            finish(request, null, new IllegalStateException(
+                    "Azure AD token requests are failing; circuit open for another " + circuitBreaker.remainingOpenTime()));
+            return;
+        }
+        if (!force && token != null && refreshPolicy.isEnabled()) {
+            reportMissedRefresh("caller found token inside the refresh window");
+        }
+
+        // a half-open probe is a single request, without retries
+        requestToken(circuitBreaker.isProbing() ? 1 : MAX_ATTEMPTS).whenComplete((received, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+                install(received);
+            } else {
+                circuitBreaker.onFailure();
+                log.warn("Azure AD token request failed: {}", error.toString());
+            }
+            finish(request, received, error);
+        });
+    }
+
+    private void install(CachedToken token) {
+        cachedToken.set(token);
+        scheduleRefresh(token);
+    }
+
+    // The cache is updated before the in-flight slot is cleared, so late callers see the new token
+    private void finish(CompletableFuture<CachedToken> request, CachedToken token, Throwable error) {
+        inFlight.compareAndSet(request, null);
+        if (error == null) {
+            request.complete(token);
+        } else {
+            request.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * A token another process (or a previous run) left on disk, if it is newer than ours and good
+     * enough to skip the Azure AD call. A forced refresh also requires it to be outside the lead window.
+     */
+    private CachedToken loadPersisted(CachedToken current, boolean force) {
+        if (persistentCache == null) {
+            return null;
+        }
+        AccessToken stored = persistentCache.load();
+        if (stored == null) {
+            return null;
+        }
+        if (stored.getToken().equals(rejectedToken.get())) {
+            return null;
+        }
+        CachedToken candidate = new CachedToken(stored);
+        if (isExpiringSoon(candidate)) {
+            return null;
+        }
+        if (current != null && current.expiresAt != null && !candidate.expiresAt.isAfter(current.expiresAt)) {
+            return null;
+        }
+        if (force && refreshPolicy.isEnabled() && refreshAt(candidate).isBefore(OffsetDateTime.now())) {
+            return null;
+        }
+        log.info("Reusing Azure AD token from persistent cache, expiring at {}", candidate.expiresAt);
+        return candidate;
+    }
+
+    /**
+     * Up to {@code maxAttempts} calls to Azure AD, spaced by decorrelated jitter on the refresh
+     * scheduler. Nothing here blocks the caller.
+     */
+    private CompletableFuture<CachedToken> requestToken(int maxAttempts) {
         TokenRequestContext ctx = new TokenRequestContext().addScopes(scope);
-        RuntimeException lastException = null;
-
-        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
-            try {
-                log.info("Requesting Azure AD token (attempt {}/{})", attempt, MAX_RETRIES);
-                AccessToken token = credential.getToken(ctx).block();
-                if (token == null) {
-                    throw new IllegalStateException("Received null AccessToken from Azure Identity");
+        CompletableFuture<CachedToken> result = new CompletableFuture<>();
+        attempt(ctx, 1, maxAttempts, 0L, result);
+        return result;
+    }
+
+    private void attempt(TokenRequestContext ctx,
+                         int attempt,
+                         int maxAttempts,
+                         long previousDelayMs,
+                         CompletableFuture<CachedToken> result) {
+        log.info("Requesting Azure AD token (attempt {}/{})", attempt, maxAttempts);
+        CompletableFuture<AccessToken> call;
+        try {
+            call = credential.getToken(ctx).toFuture();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        call.whenComplete((token, error) -> {
+            if (error == null && token != null) {
+                CachedToken cached = new CachedToken(token);
+                log.info("Received Azure AD token expiring at {} ({})", cached.expiresAt, cached.claims);
+                if (persistentCache != null) {
+                    REFRESH_SCHEDULER.execute(() -> persistentCache.store(cached.accessToken, cached.expiresAt));
                 }
-                log.info("Received Azure AD token expiring at {}", token.getExpiresAt());
-                return token;
-            } catch (RuntimeException e) {
-                lastException = e;
-                log.warn("Error requesting Azure AD token (attempt {}): {}", attempt, e.toString());
-                if (attempt < MAX_RETRIES) {
-                    try {
-                        Thread.sleep(RETRY_BACKOFF_MS * attempt);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("Interrupted while retrying token fetch", ie);
-                    }
+                result.complete(cached);
+                return;
+            }
+
+            Throwable failure = error != null ? error : new IllegalStateException("Received null AccessToken from Azure Identity");
+            log.warn("Error requesting Azure AD token (attempt {}): {}", attempt, failure.toString());
+            if (attempt >= maxAttempts || closed.get()) {
+                result.completeExceptionally(new RuntimeException(
+                        "Failed to obtain Azure AD token after " + attempt + " attempts", failure));
+                return;
+            }
+
+            long delayMs = BACKOFF.nextDelayMillis(previousDelayMs);
+            log.debug("Retrying Azure AD token request in {} ms", delayMs);
+            REFRESH_SCHEDULER.schedule(() -> attempt(ctx, attempt + 1, maxAttempts, delayMs, result),
+                    delayMs, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void scheduleRefresh(CachedToken token) {
+        if (closed.get() || !refreshPolicy.isEnabled() || token.expiresAt == null) {
+            return;
+        }
+        Duration delay = Duration.between(OffsetDateTime.now(), refreshAt(token));
+        if (delay.compareTo(MIN_REFRESH_DELAY) < 0) {
+            delay = MIN_REFRESH_DELAY;
+        }
+        schedule(delay);
+    }
+
+    private OffsetDateTime refreshAt(CachedToken token) {
+        return refreshPolicy.refreshAt(token.issuedAt, token.expiresAt, token.expiresAt.minus(SKEW));
+    }
+
+    private void schedule(Duration delay) {
+        ScheduledFuture<?> next = REFRESH_SCHEDULER.schedule(this::refreshInBackground, delay.toMillis(), TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previous = scheduledRefresh.getAndSet(next);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        if (closed.get() && scheduledRefresh.compareAndSet(next, null)) {
+            next.cancel(false);
+        }
+        log.debug("Next background Azure AD token refresh in {}", delay);
+    }
+
+    private void refreshInBackground() {
+        if (closed.get()) {
+            return;
+        }
+        log.debug("Background refresh of Azure AD token");
+        fetchToken(true).whenComplete((token, error) -> {
+            if (error != null) {
+                reportMissedRefresh(error.toString());
+                if (!closed.get()) {
+                    schedule(REFRESH_RETRY_DELAY);
                 }
             }
+        });
+    }
+
+    private void reportMissedRefresh(String reason) {
+        long missed = missedRefreshes.incrementAndGet();
+        log.warn("Background Azure AD token refresh missed ({} so far): {}", missed, reason);
+    }
+
+    /**
+     * An access token plus its claims, decoded once when the token is received. The JWT {@code exp}
+     * claim is the authoritative deadline; {@link AccessToken#getExpiresAt()} is only a fallback for
+     * tokens that can't be decoded, so credentials that omit it don't trigger a fetch on every call.
+     */
+    static final class CachedToken {
+
+        final AccessToken accessToken;
+        final JwtClaims claims;
+        final OffsetDateTime expiresAt;
+        final OffsetDateTime issuedAt;
+        // SASL PLAIN initial response (empty username, NUL, JWT); handshakes share it through duplicate()
+        final ByteBuffer saslPayload;
+        // when a node last accepted this token, as System.nanoTime(); only meaningful once accepted is set
+        private volatile long acceptedAtNanos;
+        private volatile boolean accepted;
+
+        CachedToken(AccessToken accessToken) {
+            this.accessToken = accessToken;
+            this.saslPayload = encodePlain(accessToken.getToken());
+            this.claims = JwtClaims.decode(accessToken.getToken());
+            this.issuedAt = claims.getIssuedAt() != null
+                    ? claims.getIssuedAt().atOffset(ZoneOffset.UTC)
+                    : OffsetDateTime.now();
+            this.expiresAt = claims.getExpiresAt() != null
+                    ? claims.getExpiresAt().atOffset(ZoneOffset.UTC)
+                    : accessToken.getExpiresAt();
+        }
+
+        void markAccepted() {
+            acceptedAtNanos = System.nanoTime();
+            accepted = true;
         }
 
-        throw new RuntimeException("Failed to obtain Azure AD token after " + MAX_RETRIES + " attempts", lastException);
+        /**
+         * Whether a node has accepted this token at or after {@code nanos} (a System.nanoTime() value).
+         */
+        boolean acceptedSince(long nanos) {
+            return accepted && acceptedAtNanos - nanos >= 0;
+        }
+
+        private static ByteBuffer encodePlain(String jwt) {
+            byte[] p = jwt.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(1 + p.length);
+            buffer.put((byte) 0);  // empty username, then username/password separator
+            buffer.put(p);
+            buffer.flip();
+            return buffer.asReadOnlyBuffer();
+        }
     }
-}
\ No newline at end of file
+}
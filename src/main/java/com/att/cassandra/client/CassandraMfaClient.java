@@ -22,7 +22,7 @@ public class CassandraMfaClient {
 
             log.debug("Initializing Azure AD token provider");
             AzureAdTokenProvider tokenProvider =
-                    new AzureAdTokenProvider(
+                    TokenProviderRegistry.acquire(
                             Config.get("azure.tenant-id"),
                             Config.get("azure.client-id"),
                             Config.get("azure.client-secret"),
@@ -33,7 +33,7 @@ public class CassandraMfaClient {
             CqlSession session = CqlSession.builder()
                     .addContactPoint(new InetSocketAddress(host, port))
                     .withLocalDatacenter(datacenter)
-                    .withAuthProvider(new AzureAdAuthProvider(tokenProvider))
+                    .withAuthProvider(new AzureAdAuthProvider(tokenProvider, true))
                     .withSslContext(
                             SslUtil.createSslContext(
                                     Config.get("cassandra.truststore"),
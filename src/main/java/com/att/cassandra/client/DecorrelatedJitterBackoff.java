@@ -0,0 +1,27 @@
+package com.att.cassandra.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * "Decorrelated jitter" backoff: each delay is drawn uniformly from [base, previous * 3], capped.
+ * Spreads retries from many clients apart while still growing roughly exponentially.
+ */
+final class DecorrelatedJitterBackoff {
+
+    private final long baseMillis;
+    private final long capMillis;
+
+    DecorrelatedJitterBackoff(long baseMillis, long capMillis) {
+        this.baseMillis = baseMillis;
+        this.capMillis = capMillis;
+    }
+
+    /**
+     * @param previousMillis the previous delay, or 0 before the first retry
+     */
+    long nextDelayMillis(long previousMillis) {
+        long upper = Math.max(baseMillis, previousMillis * 3);
+        long delay = upper > baseMillis ? ThreadLocalRandom.current().nextLong(baseMillis, upper + 1) : baseMillis;
+        return Math.min(capMillis, delay);
+    }
+}
@@ -0,0 +1,223 @@
+package com.att.cassandra.client;
+
+import com.datastax.oss.driver.api.core.auth.AuthenticationException;
+import com.datastax.oss.driver.api.core.metadata.EndPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps in-flight SASL handshakes per session and per node. Excess handshakes wait in a bounded FIFO
+ * queue without holding any thread, so a reconnect storm is admitted gradually instead of all at once.
+ * Waiters give up their place at the handshake timeout, by which time the driver has given up too.
+ */
+final class HandshakeAdmission {
+
+    private static final Logger log = LoggerFactory.getLogger(HandshakeAdmission.class);
+
+    private final AuthProviderOptions options;
+    private final Limiter sessionLimiter;
+    private final Map<EndPoint, Limiter> nodeLimiters = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queueTimeNanos = new LongAdder();
+
+    HandshakeAdmission(AuthProviderOptions options) {
+        this.options = options;
+        this.sessionLimiter = new Limiter(options.getMaxConcurrentHandshakes());
+    }
+
+    /**
+     * Completes with a permit once both the node and the session have a free slot, or fails with a
+     * {@link TimeoutException} if none frees up within the handshake timeout. The permit must be
+     * released when the handshake finishes; it also releases itself after the handshake timeout,
+     * running {@code onTimeout} first.
+     */
+    CompletableFuture<Permit> acquire(EndPoint endPoint, Runnable onTimeout) {
+        if (queued.get() >= options.getMaxQueuedHandshakes()) {
+            rejected.increment();
+            log.warn("Rejecting handshake to {}: {} handshakes already queued", endPoint, queued.get());
+            return CompletableFuture.failedFuture(new AuthenticationException(endPoint,
+                    "Too many queued authentication handshakes (" + options.getMaxQueuedHandshakes() + ")"));
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + options.getHandshakeTimeout().toNanos();
+        Limiter nodeLimiter = nodeLimiters.computeIfAbsent(endPoint,
+                e -> new Limiter(options.getMaxConcurrentHandshakesPerNode()));
+
+        queued.incrementAndGet();
+        return acquireBefore(nodeLimiter, deadline, endPoint)
+                .thenCompose(ignored -> acquireBefore(sessionLimiter, deadline, endPoint)
+                        .whenComplete((granted, error) -> {
+                            if (error != null) {
+                                nodeLimiter.release();
+                            }
+                        }))
+                .handle((ignored, error) -> {
+                    queued.decrementAndGet();
+                    if (error != null) {
+                        throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+                    }
+                    long waited = System.nanoTime() - start;
+                    admitted.increment();
+                    queueTimeNanos.add(waited);
+                    if (waited > TimeUnit.MILLISECONDS.toNanos(1)) {
+                        log.debug("Handshake to {} admitted after queueing {} ms", endPoint, TimeUnit.NANOSECONDS.toMillis(waited));
+                    }
+                    return new Permit(endPoint, nodeLimiter, onTimeout);
+                });
+    }
+
+    // A waiter still queued at the deadline leaves the queue, so the driver's retry gets a fresh place
+    private CompletableFuture<Void> acquireBefore(Limiter limiter, long deadline, EndPoint endPoint) {
+        CompletableFuture<Void> slot = limiter.acquire();
+        if (slot.isDone()) {
+            return slot;
+        }
+        CompletableFuture.delayedExecutor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                .execute(() -> {
+                    if (limiter.remove(slot)) {
+                        timedOut.increment();
+                        log.debug("Handshake to {} timed out waiting for a slot", endPoint);
+                        slot.completeExceptionally(new TimeoutException("No authentication handshake slot for "
+                                + endPoint + " within " + options.getHandshakeTimeout()));
+                    }
+                });
+        // a waiter cancelled by its caller gives up its place at once
+        slot.whenComplete((granted, error) -> {
+            if (slot.isCancelled()) {
+                limiter.remove(slot);
+            }
+        });
+        return slot;
+    }
+
+    int getInFlight() {
+        return sessionLimiter.inFlight();
+    }
+
+    int getQueued() {
+        return queued.get();
+    }
+
+    long getAdmitted() {
+        return admitted.sum();
+    }
+
+    long getRejected() {
+        return rejected.sum();
+    }
+
+    long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    long getTotalQueueTimeNanos() {
+        return queueTimeNanos.sum();
+    }
+
+    final class Permit {
+
+        private final EndPoint endPoint;
+        private final Limiter nodeLimiter;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(EndPoint endPoint, Limiter nodeLimiter, Runnable onTimeout) {
+            this.endPoint = endPoint;
+            this.nodeLimiter = nodeLimiter;
+            CompletableFuture.delayedExecutor(options.getHandshakeTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(() -> {
+                        if (!released.get()) {
+                            log.debug("Handshake to {} did not report completion, releasing its slot", endPoint);
+                            try {
+                                onTimeout.run();
+                            } finally {
+                                release();
+                            }
+                        }
+                    });
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                sessionLimiter.release();
+                nodeLimiter.release();
+                log.trace("Handshake slot for {} released", endPoint);
+            }
+        }
+    }
+
+    /**
+     * Non-blocking counting semaphore with a FIFO queue of waiters.
+     */
+    private static final class Limiter {
+
+        private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+        private final int limit;
+
+        // guarded by this
+        private int inFlight;
+        private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
+        Limiter(int limit) {
+            if (limit < 1) {
+                throw new IllegalArgumentException("Handshake limit must be at least 1 but was " + limit);
+            }
+            this.limit = limit;
+        }
+
+        synchronized CompletableFuture<Void> acquire() {
+            if (inFlight < limit) {
+                inFlight++;
+                return GRANTED;
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+
+        void release() {
+            while (true) {
+                CompletableFuture<Void> next;
+                synchronized (this) {
+                    next = waiters.poll();
+                    if (next == null) {
+                        inFlight--;
+                        return;
+                    }
+                }
+                // the slot passes straight to the next waiter; complete it outside the lock, and move
+                // on if that waiter was cancelled meanwhile
+                if (next.complete(null)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Takes a waiter out of the queue; false if it was already granted a slot.
+         */
+        synchronized boolean remove(CompletableFuture<Void> waiter) {
+            return waiters.remove(waiter);
+        }
+
+        synchronized int inFlight() {
+            return inFlight;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.att.cassandra.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Time claims ({@code exp}, {@code nbf}, {@code iat}) read straight from a JWT payload.
+ * The token signature is not verified; this is only used to decide when to refresh.
+ */
+public final class JwtClaims {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtClaims.class);
+
+    private static final JwtClaims EMPTY = new JwtClaims(null, null, null);
+
+    private final Instant expiresAt;
+    private final Instant notBefore;
+    private final Instant issuedAt;
+
+    private JwtClaims(Instant expiresAt, Instant notBefore, Instant issuedAt) {
+        this.expiresAt = expiresAt;
+        this.notBefore = notBefore;
+        this.issuedAt = issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Instant getNotBefore() {
+        return notBefore;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    /**
+     * Decodes the payload segment of a compact JWT. Never throws; claims that are missing or
+     * can't be read come back as null.
+     */
+    public static JwtClaims decode(String jwt) {
+        if (jwt == null) {
+            return EMPTY;
+        }
+        int first = jwt.indexOf('.');
+        int second = first < 0 ? -1 : jwt.indexOf('.', first + 1);
+        if (second < 0) {
+            log.debug("Token is not a compact JWT; no claims decoded");
+            return EMPTY;
+        }
+
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(jwt.substring(first + 1, second));
+            return new Scanner(new String(payload, StandardCharsets.UTF_8)).scan();
+        } catch (RuntimeException e) {
+            log.debug("Unable to decode JWT claims: {}", e.toString());
+            return EMPTY;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JwtClaims{exp=" + expiresAt + ", nbf=" + notBefore + ", iat=" + issuedAt + "}";
+    }
+
+    /**
+     * Minimal JSON walker: only top-level numeric members are read, everything else is skipped.
+     */
+    private static final class Scanner {
+
+        private final String json;
+        private int pos;
+
+        private Instant exp;
+        private Instant nbf;
+        private Instant iat;
+
+        Scanner(String json) {
+            this.json = json;
+        }
+
+        JwtClaims scan() {
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                return EMPTY;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                if (isTimeClaim(key) && isNumberStart(peek())) {
+                    Instant value = Instant.ofEpochSecond((long) Double.parseDouble(readNumber()));
+                    switch (key) {
+                        case "exp" -> exp = value;
+                        case "nbf" -> nbf = value;
+                        default -> iat = value;
+                    }
+                } else {
+                    skipValue();
+                }
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return new JwtClaims(exp, nbf, iat);
+                }
+                if (c != ',') {
+                    throw new IllegalArgumentException("Unexpected '" + c + "' at " + (pos - 1));
+                }
+            }
+        }
+
+        private static boolean isTimeClaim(String key) {
+            return "exp".equals(key) || "nbf".equals(key) || "iat".equals(key);
+        }
+
+        private static boolean isNumberStart(char c) {
+            return c == '-' || (c >= '0' && c <= '9');
+        }
+
+        private void skipValue() {
+            char c = peek();
+            if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                skipNested();
+            } else {
+                // number, true, false, null
+                while (pos < json.length() && ",}] \t\r\n".indexOf(json.charAt(pos)) < 0) {
+                    pos++;
+                }
+            }
+        }
+
+        private void skipNested() {
+            int depth = 0;
+            do {
+                char c = peek();
+                if (c == '"') {
+                    readString();
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                pos++;
+            } while (depth > 0);
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder sb = null;
+            int start = pos;
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return sb == null ? json.substring(start, pos - 1) : sb.toString();
+                }
+                if (c == '\\') {
+                    if (sb == null) {
+                        sb = new StringBuilder(json.substring(start, pos - 1));
+                    }
+                    char escaped = next();
+                    if (escaped == 'u') {
+                        sb.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    } else {
+                        sb.append(escaped);
+                    }
+                } else if (sb != null) {
+                    sb.append(c);
+                }
+            }
+        }
+
+        private String readNumber() {
+            int start = pos;
+            while (pos < json.length() && "+-0123456789.eE".indexOf(json.charAt(pos)) >= 0) {
+                pos++;
+            }
+            return json.substring(start, pos);
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private void expect(char expected) {
+            char c = next();
+            if (c != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' but found '" + c + "' at " + (pos - 1));
+            }
+        }
+
+        private char peek() {
+            if (pos >= json.length()) {
+                throw new IllegalArgumentException("Unexpected end of JWT payload");
+            }
+            return json.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+    }
+}
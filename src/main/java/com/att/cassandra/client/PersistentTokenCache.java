@@ -0,0 +1,192 @@
+package com.att.cassandra.client;
+
+import com.azure.core.credential.AccessToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+
+/**
+ * Encrypted on-disk copy of the last Azure AD token, so restarting processes and sibling JVMs on
+ * the same host can reuse an unexpired token instead of all calling Azure AD at once.
+ *
+ * Readers memory-map the file without locking; writers serialize on a sidecar lock file and publish
+ * by atomic rename, so a reader always sees either the previous or the next complete entry.
+ * The AES-GCM key is derived from the client secret, so only holders of the secret can read it.
+ */
+public class PersistentTokenCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentTokenCache.class);
+
+    private static final int MAGIC = 0x434D4641; // "CMFA"
+    private static final byte VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int HEADER_LENGTH = 4 + 1 + IV_LENGTH;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Path file;
+    private final Path lockFile;
+    private final SecretKeySpec key;
+
+    public PersistentTokenCache(String directory,
+                                String tenantId,
+                                String clientId,
+                                String clientSecret,
+                                String scope) {
+        String identity = tenantId + '|' + clientId + '|' + scope;
+        String name = "azure-ad-token-" + HexFormat.of().formatHex(sha256(identity)).substring(0, 32);
+
+        this.file = Paths.get(directory).resolve(name + ".bin");
+        this.lockFile = Paths.get(directory).resolve(name + ".lock");
+        this.key = new SecretKeySpec(hmacSha256(clientSecret, "cassandra-mfa-token-cache|" + identity), "AES");
+
+        log.debug("Persistent token cache at {}", file);
+    }
+
+    /**
+     * Reads the cached token, or returns null if there is none or it can't be decrypted.
+     */
+    public AccessToken load() {
+        byte[] entry;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= HEADER_LENGTH || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            entry = new byte[(int) size];
+            mapped.get(entry);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Unable to read persistent token cache {}: {}", file, e.toString());
+            return null;
+        }
+
+        try {
+            ByteBuffer in = ByteBuffer.wrap(entry);
+            if (in.getInt() != MAGIC || in.get() != VERSION) {
+                log.debug("Ignoring persistent token cache {} with unknown format", file);
+                return null;
+            }
+            byte[] iv = new byte[IV_LENGTH];
+            in.get(iv);
+
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            ByteBuffer plain = ByteBuffer.wrap(cipher.doFinal(entry, HEADER_LENGTH, entry.length - HEADER_LENGTH));
+
+            OffsetDateTime expiresAt = Instant.ofEpochSecond(plain.getLong()).atOffset(ZoneOffset.UTC);
+            String token = StandardCharsets.UTF_8.decode(plain).toString();
+            log.debug("Loaded Azure AD token from persistent cache, expiring at {}", expiresAt);
+            return new AccessToken(token, expiresAt);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            log.debug("Unable to decrypt persistent token cache {}: {}", file, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the token atomically. Failures are logged and otherwise ignored; the cache is best effort.
+     */
+    public void store(AccessToken token, OffsetDateTime expiresAt) {
+        if (expiresAt == null) {
+            return;
+        }
+        try {
+            byte[] tokenBytes = token.getToken().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer plain = ByteBuffer.allocate(Long.BYTES + tokenBytes.length);
+            plain.putLong(expiresAt.toEpochSecond());
+            plain.put(tokenBytes);
+
+            byte[] iv = new byte[IV_LENGTH];
+            RANDOM.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] sealed = cipher.doFinal(plain.array());
+
+            ByteBuffer out = ByteBuffer.allocate(HEADER_LENGTH + sealed.length);
+            out.putInt(MAGIC);
+            out.put(VERSION);
+            out.put(iv);
+            out.put(sealed);
+            out.flip();
+
+            Files.createDirectories(file.getParent());
+            try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                    try {
+                        restrictPermissions(tmp);
+                        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                            while (out.hasRemaining()) {
+                                channel.write(out);
+                            }
+                            channel.force(true);
+                        }
+                        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } finally {
+                        Files.deleteIfExists(tmp);
+                    }
+                } finally {
+                    lock.release();
+                }
+            }
+            log.debug("Stored Azure AD token in persistent cache {}", file);
+        } catch (IOException | GeneralSecurityException e) {
+            log.warn("Unable to write persistent token cache {}: {}", file, e.toString());
+        }
+    }
+
+    private static void restrictPermissions(Path path) {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException | IOException e) {
+            log.trace("Could not restrict permissions on {}: {}", path, e.toString());
+        }
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] hmacSha256(String secret, String message) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
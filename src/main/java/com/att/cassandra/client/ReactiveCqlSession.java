@@ -0,0 +1,32 @@
+package com.att.cassandra.client;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import org.reactivestreams.Publisher;
+
+/**
+ * Back-pressured queries over a session built with {@link AzureAdAuthProvider}, as Reactive Streams
+ * {@link Publisher}s that page by subscriber demand; see {@link RowPublisher}.
+ */
+public final class ReactiveCqlSession {
+
+    private final CqlSession session;
+
+    public ReactiveCqlSession(CqlSession session) {
+        this.session = session;
+    }
+
+    public Publisher<Row> execute(String cql, Object... values) {
+        return execute(SimpleStatement.newInstance(cql, values));
+    }
+
+    public Publisher<Row> execute(Statement<?> statement) {
+        return new RowPublisher(() -> session.executeAsync(statement));
+    }
+
+    public CqlSession getSession() {
+        return session;
+    }
+}
@@ -0,0 +1,69 @@
+package com.att.cassandra.client;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides when a token should be refreshed in the background. The base point is either a fixed lead
+ * time before expiry or a fraction of the token lifetime; each instance then shifts it earlier by its
+ * own random share of a jitter window, so a fleet started together spreads its refreshes out instead
+ * of hitting Azure AD in lockstep.
+ */
+final class RefreshWindowPolicy {
+
+    private final Duration leadTime;
+    private final Double lifetimeFraction;
+    private final double jitterFraction;
+
+    // fixed for the life of this instance, uniform in [0, 1)
+    private final double instanceOffset;
+
+    RefreshWindowPolicy(Duration leadTime, Double lifetimeFraction, double jitterFraction) {
+        this(leadTime, lifetimeFraction, jitterFraction, ThreadLocalRandom.current().nextDouble());
+    }
+
+    // the arguments are checked by TokenProviderOptions.validate()
+    RefreshWindowPolicy(Duration leadTime, Double lifetimeFraction, double jitterFraction, double instanceOffset) {
+        this.leadTime = leadTime;
+        this.lifetimeFraction = lifetimeFraction;
+        this.jitterFraction = jitterFraction;
+        this.instanceOffset = instanceOffset;
+    }
+
+    boolean isEnabled() {
+        return leadTime != null || lifetimeFraction != null;
+    }
+
+    /**
+     * When to refresh a token issued at {@code issuedAt} and expiring at {@code expiresAt},
+     * never later than {@code latest}.
+     */
+    OffsetDateTime refreshAt(OffsetDateTime issuedAt, OffsetDateTime expiresAt, OffsetDateTime latest) {
+        Duration lifetime = Duration.between(issuedAt, expiresAt);
+        if (lifetime.isNegative()) {
+            lifetime = Duration.ZERO;
+        }
+
+        OffsetDateTime base = lifetimeFraction != null
+                ? issuedAt.plus(scale(lifetime, lifetimeFraction))
+                : expiresAt.minus(leadTime);
+        OffsetDateTime refreshAt = base.minus(scale(lifetime, jitterFraction * instanceOffset));
+
+        if (refreshAt.isAfter(latest)) {
+            refreshAt = latest;
+        }
+        return refreshAt.isBefore(issuedAt) ? issuedAt : refreshAt;
+    }
+
+    private static Duration scale(Duration duration, double factor) {
+        return Duration.ofMillis((long) (duration.toMillis() * factor));
+    }
+
+    @Override
+    public String toString() {
+        return lifetimeFraction != null
+                ? "at " + Math.round(lifetimeFraction * 100) + "% of lifetime, jitter " + Math.round(jitterFraction * 100) + "%"
+                : leadTime + " before expiry, jitter " + Math.round(jitterFraction * 100) + "%";
+    }
+}
@@ -0,0 +1,180 @@
+package com.att.cassandra.client;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Reactive Streams {@link Publisher} of the rows of a query, paged by demand.
+ *
+ * The query runs when a subscriber first requests rows, and the next page is only fetched once the
+ * rows in memory have been delivered and more are requested, so at most one page is buffered per
+ * subscriber. Cancelling stops paging at once; a page already in flight is dropped when it arrives.
+ * Each subscriber runs the query afresh.
+ */
+public final class RowPublisher implements Publisher<Row> {
+
+    private static final Logger log = LoggerFactory.getLogger(RowPublisher.class);
+
+    private final Supplier<? extends CompletionStage<AsyncResultSet>> query;
+
+    /**
+     * @param query starts the query and returns its first page; called once per subscriber
+     */
+    public RowPublisher(Supplier<? extends CompletionStage<AsyncResultSet>> query) {
+        this.query = query;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Row> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        RowSubscription subscription = new RowSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class RowSubscription implements Subscription {
+
+        private final Subscriber<? super Row> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        // serializes drain(): only the caller that moves it off zero runs the loop
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled = false;
+        private volatile AsyncResultSet arrived;
+        private volatile Throwable failure;
+
+        // touched only inside drain()
+        private AsyncResultSet page;
+        private Iterator<Row> rows;
+        private boolean started;
+        private boolean fetching;
+        private boolean done;
+
+        RowSubscription(Subscriber<? super Row> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                failure = new IllegalArgumentException("request must be positive but was " + n);
+            } else {
+                requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!done) {
+                    step();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void step() {
+            if (cancelled) {
+                finish();
+                return;
+            }
+            AsyncResultSet next = arrived;
+            if (next != null) {
+                arrived = null;
+                fetching = false;
+                page = next;
+                rows = next.currentPage().iterator();
+            }
+
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted != demand && rows != null && rows.hasNext()) {
+                if (cancelled) {
+                    finish();
+                    return;
+                }
+                subscriber.onNext(rows.next());
+                emitted++;
+            }
+            if (emitted > 0 && demand != Long.MAX_VALUE) {
+                demand = requested.addAndGet(-emitted);
+            }
+
+            Throwable error = failure;
+            // rows already fetched are delivered before a paging failure; an invalid request fails at once
+            if (error != null && (rows == null || !rows.hasNext() || error instanceof IllegalArgumentException)) {
+                finish();
+                subscriber.onError(unwrap(error));
+                return;
+            }
+            boolean buffered = rows != null && rows.hasNext();
+            boolean morePages = !started || (page != null && page.hasMorePages());
+            if (!buffered && !morePages && !fetching) {
+                finish();
+                subscriber.onComplete();
+                return;
+            }
+            if (!buffered && !fetching && morePages && demand > 0) {
+                fetch();
+            }
+        }
+
+        private void fetch() {
+            fetching = true;
+            CompletionStage<AsyncResultSet> stage;
+            try {
+                stage = started ? page.fetchNextPage() : query.get();
+            } catch (RuntimeException e) {
+                failure = e;
+                // we're inside drain(); make it run step() again to report the failure
+                wip.incrementAndGet();
+                return;
+            }
+            started = true;
+            stage.whenComplete((result, error) -> {
+                if (error != null) {
+                    failure = error;
+                } else if (!cancelled) {
+                    arrived = result;
+                }
+                drain();
+            });
+        }
+
+        private void finish() {
+            if (!done) {
+                done = true;
+                page = null;
+                rows = null;
+                arrived = null;
+                log.trace("Row subscription finished (cancelled: {})", cancelled);
+            }
+        }
+
+        private Throwable unwrap(Throwable error) {
+            return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.att.cassandra.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker around Azure AD token acquisition. After {@code failureThreshold} consecutive failed
+ * acquisitions it opens and callers fail fast; once {@code openDuration} has passed a single
+ * half-open probe is let through, and its outcome closes or re-opens the circuit.
+ */
+public class TokenCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    // guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public TokenCircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1 but was " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Whether a new acquisition may start. When the open period has elapsed the first caller is
+     * admitted as the half-open probe; everyone else is rejected until the probe reports back.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt >= openNanos) {
+                    state = State.HALF_OPEN;
+                    log.info("Azure AD token circuit half-open, sending probe request");
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    public synchronized boolean isProbing() {
+        return state == State.HALF_OPEN;
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Azure AD token circuit closed");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("Azure AD token circuit opened after {} consecutive failures; failing fast for {} ms",
+                        consecutiveFailures, openNanos / 1_000_000);
+            }
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Time left before the next probe is allowed, or zero if the circuit isn't open.
+     */
+    public synchronized Duration remainingOpenTime() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        long remaining = openNanos - (System.nanoTime() - openedAt);
+        return remaining > 0 ? Duration.ofNanos(remaining) : Duration.ZERO;
+    }
+}
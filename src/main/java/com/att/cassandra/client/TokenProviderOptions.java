@@ -0,0 +1,114 @@
+package com.att.cassandra.client;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs for {@link AzureAdTokenProvider}. Values are read once when the provider is built.
+ */
+public class TokenProviderOptions {
+
+    // How long before expiry the background refresher renews the token; null disables it
+    private Duration refreshLeadTime = Duration.ofMinutes(5);
+
+    // Refresh once this fraction of the token lifetime has passed (e.g. 0.75); takes precedence over refreshLeadTime
+    private Double refreshAtLifetimeFraction;
+
+    // Each instance refreshes up to this fraction of the lifetime earlier, chosen at random once per instance
+    private double refreshJitterFraction = 0.1;
+
+    // Keep serving a still-valid token while a single refresh runs, instead of making callers wait
+    private boolean staleWhileRevalidate = true;
+
+    // A stale token is only served while it has at least this much life left
+    private Duration hardExpiryGrace = Duration.ofSeconds(10);
+
+    // Consecutive failed acquisitions before callers start failing fast, and for how long
+    private int circuitFailureThreshold = 3;
+    private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+    // Directory for the encrypted on-disk token cache shared across restarts and processes; null disables it
+    private String persistentCacheDir;
+
+    /**
+     * Throws IllegalArgumentException if the options can't be used together. The lead time is only
+     * checked when it is in effect, i.e. no refreshAtLifetimeFraction is set.
+     */
+    public void validate() {
+        if (refreshAtLifetimeFraction != null) {
+            if (refreshAtLifetimeFraction <= 0 || refreshAtLifetimeFraction >= 1) {
+                throw new IllegalArgumentException("refreshAtLifetimeFraction must be between 0 and 1 but was "
+                        + refreshAtLifetimeFraction);
+            }
+        } else if (refreshLeadTime != null && refreshLeadTime.compareTo(AzureAdTokenProvider.SKEW) <= 0) {
+            throw new IllegalArgumentException("refreshLeadTime must be greater than " + AzureAdTokenProvider.SKEW
+                    + " but was " + refreshLeadTime);
+        }
+        if (refreshJitterFraction < 0 || refreshJitterFraction >= 1) {
+            throw new IllegalArgumentException("refreshJitterFraction must be between 0 and 1 but was " + refreshJitterFraction);
+        }
+    }
+
+    public Duration getRefreshLeadTime() {
+        return refreshLeadTime;
+    }
+
+    public void setRefreshLeadTime(Duration refreshLeadTime) {
+        this.refreshLeadTime = refreshLeadTime;
+    }
+
+    public Double getRefreshAtLifetimeFraction() {
+        return refreshAtLifetimeFraction;
+    }
+
+    public void setRefreshAtLifetimeFraction(Double refreshAtLifetimeFraction) {
+        this.refreshAtLifetimeFraction = refreshAtLifetimeFraction;
+    }
+
+    public double getRefreshJitterFraction() {
+        return refreshJitterFraction;
+    }
+
+    public void setRefreshJitterFraction(double refreshJitterFraction) {
+        this.refreshJitterFraction = refreshJitterFraction;
+    }
+
+    public boolean isStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    public void setStaleWhileRevalidate(boolean staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public Duration getHardExpiryGrace() {
+        return hardExpiryGrace;
+    }
+
+    public void setHardExpiryGrace(Duration hardExpiryGrace) {
+        this.hardExpiryGrace = hardExpiryGrace;
+    }
+
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+
+    public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+        this.circuitFailureThreshold = circuitFailureThreshold;
+    }
+
+    public Duration getCircuitOpenDuration() {
+        return circuitOpenDuration;
+    }
+
+    public void setCircuitOpenDuration(Duration circuitOpenDuration) {
+        this.circuitOpenDuration = circuitOpenDuration;
+    }
+
+    public String getPersistentCacheDir() {
+        return persistentCacheDir;
+    }
+
+    public void setPersistentCacheDir(String persistentCacheDir) {
+        this.persistentCacheDir = persistentCacheDir;
+    }
+}
@@ -0,0 +1,126 @@
+package com.att.cassandra.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Process-wide cache of {@link AzureAdTokenProvider}s keyed by tenant, client, scope, a fingerprint
+ * of the client secret and the provider options, so the credential and its cached token are built
+ * once per JVM for each configuration.
+ *
+ * Every {@link #acquire} returns a handle of its own that must be closed once; the shared provider
+ * is only shut down when the last handle is closed.
+ */
+public final class TokenProviderRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenProviderRegistry.class);
+
+    // guarded by TokenProviderRegistry.class
+    private static final Map<Key, Entry> providers = new HashMap<>();
+
+    private TokenProviderRegistry() {
+    }
+
+    public static AzureAdTokenProvider acquire(String tenantId,
+                                               String clientId,
+                                               String clientSecret,
+                                               String scope) {
+        return acquire(tenantId, clientId, clientSecret, scope, new TokenProviderOptions());
+    }
+
+    public static synchronized AzureAdTokenProvider acquire(String tenantId,
+                                                            String clientId,
+                                                            String clientSecret,
+                                                            String scope,
+                                                            TokenProviderOptions options) {
+        Key key = new Key(tenantId, clientId, scope, fingerprint(clientSecret), Settings.of(options));
+        Entry entry = providers.get(key);
+        if (entry == null) {
+            log.debug("Creating shared AzureAdTokenProvider for tenant: {}, client: {}, scope: {}", tenantId, clientId, scope);
+            AzureAdTokenProvider provider = new AzureAdTokenProvider(tenantId, clientId, clientSecret, scope, options);
+            entry = new Entry(provider);
+            providers.put(key, entry);
+        }
+        entry.references++;
+        log.debug("Acquired shared AzureAdTokenProvider for tenant: {} ({} references)", tenantId, entry.references);
+        return new AzureAdTokenProvider(entry.provider, key);
+    }
+
+    /**
+     * Number of distinct providers currently shared.
+     */
+    public static synchronized int size() {
+        return providers.size();
+    }
+
+    // Called once per handle from AzureAdTokenProvider.close()
+    static void release(Key key) {
+        Entry entry;
+        boolean last;
+        synchronized (TokenProviderRegistry.class) {
+            entry = providers.get(key);
+            if (entry == null) {
+                log.trace("release() called on a provider that is no longer registered");
+                return;
+            }
+            last = --entry.references == 0;
+            if (last) {
+                providers.remove(key);
+            }
+            log.debug("Released shared AzureAdTokenProvider ({} references left)", entry.references);
+        }
+        if (last) {
+            entry.provider.shutdown();
+        }
+    }
+
+    private static String fingerprint(String clientSecret) {
+        if (clientSecret == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(clientSecret.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    record Key(String tenantId, String clientId, String scope, String secretFingerprint, Settings settings) {
+    }
+
+    // TokenProviderOptions is mutable and has no equals(), so its values are copied into the key
+    record Settings(Duration refreshLeadTime,
+                    Double refreshAtLifetimeFraction,
+                    double refreshJitterFraction,
+                    boolean staleWhileRevalidate,
+                    Duration hardExpiryGrace,
+                    int circuitFailureThreshold,
+                    Duration circuitOpenDuration,
+                    String persistentCacheDir) {
+
+        static Settings of(TokenProviderOptions options) {
+            return new Settings(options.getRefreshLeadTime(), options.getRefreshAtLifetimeFraction(),
+                    options.getRefreshJitterFraction(), options.isStaleWhileRevalidate(), options.getHardExpiryGrace(),
+                    options.getCircuitFailureThreshold(), options.getCircuitOpenDuration(), options.getPersistentCacheDir());
+        }
+    }
+
+    private static final class Entry {
+
+        final AzureAdTokenProvider provider;
+        int references;
+
+        Entry(AzureAdTokenProvider provider) {
+            this.provider = provider;
+        }
+    }
+}
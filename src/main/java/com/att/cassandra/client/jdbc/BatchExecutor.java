@@ -0,0 +1,399 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Runs a JDBC batch as a set of single-partition UNLOGGED batches instead of one multi-partition
+ * LOGGED batch or one round trip per statement, without changing the outcome of running it in order.
+ *
+ * Statements are grouped by routing keyspace and key, so each driver batch goes to one replica set,
+ * and a group is closed once it reaches {@code maxStatements} statements or {@code maxBytes} encoded
+ * bytes. The statements of a driver batch share one write timestamp, so a group is also closed before
+ * a statement that writes a row the group already writes (or whose row can't be told), and after a
+ * DELETE. A conditional statement would make the whole driver batch conditional, so it is sent alone.
+ *
+ * The groups of one partition form a chain and are sent one at a time, in order; chains for different
+ * partitions run concurrently, at most {@code concurrency} at a time. A statement without a routing key
+ * (e.g. plain CQL text) may touch any partition, so it waits for everything before it and everything
+ * after it waits for it. Each group succeeds or fails as a whole, and its result is reported against
+ * every statement in it.
+ */
+public final class BatchExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchExecutor.class);
+
+    public static final int DEFAULT_MAX_STATEMENTS = 100;
+    // Cassandra's default batch_size_warn_threshold
+    public static final int DEFAULT_MAX_BYTES = 5 * 1024;
+    public static final int DEFAULT_CONCURRENCY = 32;
+
+    private static final Pattern DELETE = Pattern.compile("^\\s*DELETE\\b", Pattern.CASE_INSENSITIVE);
+    // IF EXISTS, IF NOT EXISTS or IF <conditions>; a false match only costs a round trip
+    private static final Pattern CONDITIONAL = Pattern.compile("\\bIF\\b", Pattern.CASE_INSENSITIVE);
+
+    private final CqlSession session;
+    private final int maxStatements;
+    private final int maxBytes;
+    private final int concurrency;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+
+    public BatchExecutor(CqlSession session) {
+        this(session, DEFAULT_MAX_STATEMENTS, DEFAULT_MAX_BYTES, DEFAULT_CONCURRENCY);
+    }
+
+    public BatchExecutor(CqlSession session, int maxStatements, int maxBytes, int concurrency) {
+        if (maxStatements < 1) {
+            throw new IllegalArgumentException("batchMaxStatements must be at least 1 but was " + maxStatements);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("batchMaxBytes must be at least 1 but was " + maxBytes);
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("batchConcurrency must be at least 1 but was " + concurrency);
+        }
+        this.session = session;
+        this.maxStatements = maxStatements;
+        this.maxBytes = maxBytes;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Executes {@code batch} with {@code owner}'s timeout applied and returns one JDBC update count per
+     * statement, in order. If any group fails, every group is still run and a {@link BatchUpdateException}
+     * carrying all the counts is thrown at the end.
+     */
+    int[] execute(List<BatchableStatement<?>> batch, CassandraMfaStatement owner) throws SQLException {
+        int[] counts = new int[batch.size()];
+        List<List<Chain>> stages = split(batch);
+        if (log.isDebugEnabled()) {
+            int groups = 0;
+            for (List<Chain> stage : stages) {
+                for (Chain chain : stage) {
+                    groups += chain.groups.size();
+                }
+            }
+            log.debug("Executing JDBC batch of {} statements as {} requests", batch.size(), groups);
+        }
+
+        Semaphore window = new Semaphore(concurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (List<Chain> stage : stages) {
+            List<CompletableFuture<Void>> pending = new ArrayList<>(stage.size());
+            for (Chain chain : stage) {
+                try {
+                    window.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure.compareAndSet(null, new SQLException("Interrupted while executing batch", e));
+                    for (Group group : chain.groups) {
+                        group.fail(counts);
+                    }
+                    continue;
+                }
+                pending.add(run(chain, owner, counts, failure).whenComplete((result, error) -> window.release()));
+            }
+            // run() never completes exceptionally, and each request is bounded by the driver timeout
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            SQLException cause = CqlFutures.toSqlException(error);
+            throw new BatchUpdateException(cause.getMessage(), cause.getSQLState(), cause.getErrorCode(), counts, cause);
+        }
+        return counts;
+    }
+
+    /**
+     * Sends the groups of a chain one after the other, each once the previous one has completed.
+     */
+    private CompletableFuture<Void> run(Chain chain, CassandraMfaStatement owner, int[] counts,
+                                        AtomicReference<Throwable> failure) {
+        CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        for (Group group : chain.groups) {
+            tail = tail.thenCompose(previous -> send(group, owner, counts, failure));
+        }
+        return tail;
+    }
+
+    private CompletableFuture<Void> send(Group group, CassandraMfaStatement owner, int[] counts,
+                                         AtomicReference<Throwable> failure) {
+        CompletableFuture<AsyncResultSet> request;
+        try {
+            request = session.executeAsync(configure(owner, group.toStatement())).toCompletableFuture();
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        requests.increment();
+        statements.add(group.indexes.size());
+        return request.handle((result, error) -> {
+            if (error != null) {
+                failure.compareAndSet(null, error);
+                group.fail(counts);
+            } else {
+                group.succeed(counts, result);
+            }
+            return null;
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Statement<?> configure(CassandraMfaStatement owner, Statement statement) {
+        return owner.configure(statement);
+    }
+
+    /**
+     * Splits a batch into stages run one after the other, each a set of per-partition chains.
+     */
+    private List<List<Chain>> split(List<BatchableStatement<?>> batch) {
+        List<List<Chain>> stages = new ArrayList<>();
+        Map<GroupKey, Chain> chains = new LinkedHashMap<>();
+
+        for (int i = 0; i < batch.size(); i++) {
+            BatchableStatement<?> statement = batch.get(i);
+            ByteBuffer routingKey = statement.getRoutingKey();
+            if (routingKey == null) {
+                if (!chains.isEmpty()) {
+                    stages.add(new ArrayList<>(chains.values()));
+                    chains.clear();
+                }
+                Chain alone = new Chain();
+                alone.start(false).add(i, statement, 0, null);
+                stages.add(List.of(alone));
+                continue;
+            }
+
+            TableMetadata table = tableOf(statement);
+            GroupKey key = new GroupKey(statement.getRoutingKeyspace(), routingKey, isCounterUpdate(statement, table));
+            int size = statement.computeSizeInBytes(session.getContext());
+            RowKey row = rowKey(statement, table);
+            String cql = CassandraMfaStatement.cqlOf(statement);
+            boolean conditional = cql != null && CONDITIONAL.matcher(cql).find();
+
+            Chain chain = chains.computeIfAbsent(key, k -> new Chain());
+            Group group = chain.last();
+            if (group == null || conditional || !fits(group, size, row)) {
+                group = chain.start(key.counter());
+            }
+            group.add(i, statement, size, row);
+            if (conditional || (cql != null && DELETE.matcher(cql).lookingAt())) {
+                group.closed = true;
+            }
+        }
+        if (!chains.isEmpty()) {
+            stages.add(new ArrayList<>(chains.values()));
+        }
+        return stages;
+    }
+
+    private boolean fits(Group group, int size, RowKey row) {
+        return !group.closed
+                && group.indexes.size() < maxStatements
+                && group.bytes + size <= maxBytes
+                && row != null
+                && !group.rows.contains(row);
+    }
+
+    /**
+     * The table a bound statement reads or writes, from the session's schema metadata; null if unknown.
+     */
+    private TableMetadata tableOf(BatchableStatement<?> statement) {
+        if (!(statement instanceof BoundStatement)) {
+            return null;
+        }
+        ColumnDefinitions variables = ((BoundStatement) statement).getPreparedStatement().getVariableDefinitions();
+        if (variables.size() == 0) {
+            return null;
+        }
+        ColumnDefinition variable = variables.get(0);
+        return session.getMetadata().getKeyspace(variable.getKeyspace())
+                .flatMap(keyspace -> keyspace.getTable(variable.getTable()))
+                .orElse(null);
+    }
+
+    /**
+     * Counter updates may only be batched with other counter updates, in a COUNTER batch. A statement
+     * is one if the table it writes has counter columns; {@code SET c = c + 1} binds no counter
+     * variable, so the table's schema decides. Without schema metadata, counter-typed variables do.
+     */
+    private static boolean isCounterUpdate(BatchableStatement<?> statement, TableMetadata table) {
+        if (table != null) {
+            return isCounterTable(table);
+        }
+        if (statement instanceof BoundStatement) {
+            for (ColumnDefinition variable : ((BoundStatement) statement).getPreparedStatement().getVariableDefinitions()) {
+                if (variable.getType().getProtocolCode() == CqlTypes.COUNTER) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCounterTable(TableMetadata table) {
+        for (ColumnMetadata column : table.getColumns().values()) {
+            if (DataTypes.COUNTER.equals(column.getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The row a bound statement writes: its table and the bound values of every primary key column.
+     * Null if a key column isn't a bind variable named after it (e.g. a literal) or the table is unknown.
+     */
+    private static RowKey rowKey(BatchableStatement<?> statement, TableMetadata table) {
+        if (table == null || !(statement instanceof BoundStatement)) {
+            return null;
+        }
+        BoundStatement bound = (BoundStatement) statement;
+        ColumnDefinitions variables = bound.getPreparedStatement().getVariableDefinitions();
+        List<ColumnMetadata> primaryKey = new ArrayList<>(table.getPartitionKey());
+        primaryKey.addAll(table.getClusteringColumns().keySet());
+
+        List<ByteBuffer> values = new ArrayList<>(primaryKey.size());
+        for (ColumnMetadata column : primaryKey) {
+            int index = indexOf(variables, column.getName());
+            if (index < 0) {
+                return null;
+            }
+            values.add(bound.getBytesUnsafe(index));
+        }
+        return new RowKey(table.getKeyspace(), table.getName(), values);
+    }
+
+    private static int indexOf(ColumnDefinitions variables, CqlIdentifier name) {
+        for (int i = 0; i < variables.size(); i++) {
+            if (variables.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Requests sent to Cassandra for JDBC batches so far; each is a driver batch or a lone statement.
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getStatementCount() {
+        return statements.sum();
+    }
+
+    private record GroupKey(CqlIdentifier keyspace, ByteBuffer routingKey, boolean counter) {
+    }
+
+    private record RowKey(CqlIdentifier keyspace, CqlIdentifier table, List<ByteBuffer> primaryKey) {
+    }
+
+    /**
+     * The groups for one partition, in batch order; only the last one can still take statements.
+     */
+    private static final class Chain {
+
+        final List<Group> groups = new ArrayList<>();
+
+        Group last() {
+            return groups.isEmpty() ? null : groups.get(groups.size() - 1);
+        }
+
+        Group start(boolean counter) {
+            Group group = new Group(counter);
+            groups.add(group);
+            return group;
+        }
+    }
+
+    private static final class Group {
+
+        final boolean counter;
+        final List<Integer> indexes = new ArrayList<>();
+        final List<BatchableStatement<?>> members = new ArrayList<>();
+        final Set<RowKey> rows = new HashSet<>();
+        int bytes;
+        // set after a DELETE or conditional statement, which nothing may follow in the same group
+        boolean closed;
+
+        Group(boolean counter) {
+            this.counter = counter;
+        }
+
+        Group add(int index, BatchableStatement<?> statement, int size, RowKey row) {
+            indexes.add(index);
+            members.add(statement);
+            bytes += size;
+            if (row != null) {
+                rows.add(row);
+            }
+            return this;
+        }
+
+        Statement<?> toStatement() {
+            if (members.size() == 1) {
+                return members.get(0);
+            }
+            return BatchStatement.newInstance(counter ? BatchType.COUNTER : BatchType.UNLOGGED, members);
+        }
+
+        void succeed(int[] counts, AsyncResultSet result) {
+            // a conditional batch that was not applied changed nothing
+            int count = result.wasApplied() ? java.sql.Statement.SUCCESS_NO_INFO : 0;
+            for (int index : indexes) {
+                counts[index] = count;
+            }
+        }
+
+        void fail(int[] counts) {
+            for (int index : indexes) {
+                counts[index] = java.sql.Statement.EXECUTE_FAILED;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import org.reactivestreams.Publisher;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking execution on a JDBC connection, for callers that want the JDBC URL and pooling but not
+ * a thread blocked per query. Obtained with {@code connection.unwrap(CassandraMfaAsyncConnection.class)}.
+ */
+public interface CassandraMfaAsyncConnection {
+
+    /**
+     * Executes {@code cql} with {@code binds} bound to its bind markers, in order. Statements with binds
+     * are prepared through the connection's prepared statement cache; values are converted as by
+     * {@link java.sql.PreparedStatement#setObject(int, Object)}. The connection's execution profile and
+     * network timeout apply.
+     *
+     * The stage completes with the first page of the result; further pages are streamed with
+     * {@link AsyncResultSet#fetchNextPage()}. It fails with a {@link SQLException}, as the blocking
+     * methods would throw.
+     */
+    CompletionStage<AsyncResultSet> executeAsync(String cql, Object... binds);
+
+    /**
+     * The rows of {@code cql}, executed as by {@link #executeAsync} for each subscriber, paged by the
+     * subscriber's demand; see {@link com.att.cassandra.client.RowPublisher}.
+     */
+    Publisher<Row> executeReactive(String cql, Object... binds);
+}
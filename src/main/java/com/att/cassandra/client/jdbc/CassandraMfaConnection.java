@@ -1,23 +1,123 @@
 package com.att.cassandra.client.jdbc;
 
+import com.att.cassandra.client.RowPublisher;
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
-public class CassandraMfaConnection implements Connection {
+public class CassandraMfaConnection implements Connection, CassandraMfaAsyncConnection {
 
     private static final Logger log = LoggerFactory.getLogger(CassandraMfaConnection.class);
 
-    private final CqlSession session;
-    private boolean closed = false;
+    /**
+     * Client info property naming a driver execution profile for every statement on the connection,
+     * in place of the read or write profile chosen by {@link #setReadOnly(boolean)}.
+     */
+    public static final String EXECUTION_PROFILE = "ExecutionProfile";
 
+    private final CqlSession session;
+    private final PreparedStatementCache preparedStatements;
+    private final BatchExecutor batchExecutor;
+    private final SchemaMetadataCache schemaMetadata;
+    private final SessionValidator validator;
+    // null unless opened from a URL
+    private final CassandraUrl url;
+    private final Runnable onClose;
+    private final Consumer<SQLException> onFatalError;
+    private volatile boolean closed = false;
+    private volatile int prefetchPages = PagePrefetcher.DEFAULT_DEPTH;
+    private volatile boolean readOnly = false;
+    private volatile int networkTimeout = 0;
+    private final Map<String, String> clientInfo = new ConcurrentHashMap<>();
+    // resolved on first use after a change to readOnly or the ExecutionProfile client info
+    private volatile DriverExecutionProfile executionProfile;
+
+    /**
+     * A connection that owns {@code session} and closes it on {@link #close()}.
+     */
     public CassandraMfaConnection(CqlSession session) {
+        this(session, session::close);
+    }
+
+    /**
+     * A lightweight handle over a shared session; {@link #close()} only releases this handle's reference.
+     */
+    public CassandraMfaConnection(SharedSession sharedSession) {
+        this(sharedSession, sharedSession::release);
+    }
+
+    /**
+     * A logical connection over a shared session, using its prepared statement cache, batch executor and
+     * URL defaults; {@code onClose} runs once when it is closed, in place of releasing the session.
+     */
+    public CassandraMfaConnection(SharedSession sharedSession, Runnable onClose) {
+        this(sharedSession, onClose, e -> {
+        });
+    }
+
+    /**
+     * As {@link #CassandraMfaConnection(SharedSession, Runnable)}; {@code onFatalError} is told about
+     * every failure after which the connection is unusable, e.g. so a pool can discard it.
+     */
+    public CassandraMfaConnection(SharedSession sharedSession, Runnable onClose, Consumer<SQLException> onFatalError) {
+        this(sharedSession.getSession(), sharedSession.getPreparedStatementCache(), sharedSession.getBatchExecutor(),
+                sharedSession.getSchemaMetadata(), sharedSession.getValidator(), sharedSession.getUrl(), onClose, onFatalError);
+        this.prefetchPages = sharedSession.getUrl().prefetchPages;
+    }
+
+    /**
+     * A logical connection over a session owned elsewhere; {@code onClose} runs once when it is closed.
+     */
+    public CassandraMfaConnection(CqlSession session, Runnable onClose) {
+        this(session, new PreparedStatementCache(session, PreparedStatementCache.DEFAULT_MAX_SIZE), new BatchExecutor(session), onClose);
+    }
+
+    /**
+     * A logical connection over a session owned elsewhere, preparing through {@code preparedStatements}
+     * so statements are shared with other connections on the same session.
+     */
+    public CassandraMfaConnection(CqlSession session,
+                                  PreparedStatementCache preparedStatements,
+                                  BatchExecutor batchExecutor,
+                                  Runnable onClose) {
+        this(session, preparedStatements, batchExecutor, SchemaMetadataCache.uncached(session),
+                new SessionValidator(session, SessionValidator.DEFAULT_CACHE_MILLIS), null, onClose, e -> {
+                });
+    }
+
+    private CassandraMfaConnection(CqlSession session,
+                                   PreparedStatementCache preparedStatements,
+                                   BatchExecutor batchExecutor,
+                                   SchemaMetadataCache schemaMetadata,
+                                   SessionValidator validator,
+                                   CassandraUrl url,
+                                   Runnable onClose,
+                                   Consumer<SQLException> onFatalError) {
         this.session = session;
+        this.preparedStatements = preparedStatements;
+        this.batchExecutor = batchExecutor;
+        this.schemaMetadata = schemaMetadata;
+        this.validator = validator;
+        this.url = url;
+        this.onClose = onClose;
+        this.onFatalError = onFatalError;
         log.debug("CassandraMfaConnection created");
     }
 
@@ -25,15 +125,110 @@ public class CassandraMfaConnection implements Connection {
         return session;
     }
 
+    public PreparedStatementCache getPreparedStatementCache() {
+        return preparedStatements;
+    }
+
+    public BatchExecutor getBatchExecutor() {
+        return batchExecutor;
+    }
+
+    CassandraUrl getUrl() {
+        return url;
+    }
+
+    /**
+     * How many result pages statements created from now on fetch ahead of the one being read.
+     */
+    public int getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    public void setPrefetchPages(int prefetchPages) throws SQLException {
+        if (prefetchPages < 0) {
+            throw new SQLException("prefetchPages must be >= 0 but was " + prefetchPages);
+        }
+        this.prefetchPages = prefetchPages;
+    }
+
+    /**
+     * The execution profile statements on this connection run with; see {@link ExecutionProfiles}.
+     */
+    DriverExecutionProfile getExecutionProfile() {
+        DriverExecutionProfile profile = executionProfile;
+        if (profile == null) {
+            profile = ExecutionProfiles.resolve(session, clientInfo.get(EXECUTION_PROFILE), readOnly);
+            executionProfile = profile;
+        }
+        return profile;
+    }
+
+    /**
+     * The timeout for a request from a statement with {@code queryTimeout} seconds: the shorter of that
+     * and the network timeout, or null to keep the profile's timeout if neither is set.
+     */
+    Duration requestTimeout(int queryTimeout) {
+        long millis = queryTimeout * 1000L;
+        int network = networkTimeout;
+        if (network > 0 && (millis == 0 || network < millis)) {
+            millis = network;
+        }
+        return millis > 0 ? Duration.ofMillis(millis) : null;
+    }
+
+    @Override
+    public CompletionStage<AsyncResultSet> executeAsync(String cql, Object... binds) {
+        if (closed) {
+            return CompletableFuture.failedStage(new SQLException("Connection is closed"));
+        }
+        if (binds == null || binds.length == 0) {
+            return CqlFutures.translate(session.executeAsync(configure(SimpleStatement.newInstance(cql))));
+        }
+        return CqlFutures.translate(preparedStatements.prepareAsync(cql).thenCompose(prepared -> {
+            ColumnDefinitions variables = prepared.getVariableDefinitions();
+            if (variables.size() != binds.length) {
+                return CompletableFuture.failedStage(new SQLException(
+                        "Statement has " + variables.size() + " bind markers but " + binds.length + " values were given"));
+            }
+            Object[] values = new Object[binds.length];
+            for (int i = 0; i < binds.length; i++) {
+                try {
+                    values[i] = CqlTypes.coerce(variables.get(i).getType(), binds[i]);
+                } catch (SQLException e) {
+                    return CompletableFuture.failedStage(e);
+                }
+            }
+            return session.executeAsync(configure(prepared.bind(values)));
+        }));
+    }
+
+    @Override
+    public Publisher<Row> executeReactive(String cql, Object... binds) {
+        return new RowPublisher(() -> executeAsync(cql, binds));
+    }
+
+    private <S extends com.datastax.oss.driver.api.core.cql.Statement<S>> S configure(S statement) {
+        Duration timeout = requestTimeout(0);
+        if (timeout != null) {
+            statement = statement.setTimeout(timeout);
+        }
+        return ExecutionProfiles.markIdempotent(statement.setExecutionProfile(getExecutionProfile()));
+    }
+
     @Override
     public Statement createStatement() throws SQLException {
-        log.warn("createStatement called - not implemented");
-        throw new SQLFeatureNotSupportedException("createStatement not implemented for CassandraMfaConnection");
+        checkOpen();
+        return new CassandraMfaStatement(this);
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql) throws SQLException {
-        throw new SQLFeatureNotSupportedException("prepareStatement not implemented for CassandraMfaConnection");
+        checkOpen();
+        try {
+            return new CassandraMfaPreparedStatement(this, preparedStatements.prepare(sql));
+        } catch (SQLException e) {
+            throw checkFatal(e);
+        }
     }
 
     @Override
@@ -67,11 +262,11 @@ public class CassandraMfaConnection implements Connection {
     }
 
     @Override
-    public void close() {
+    public synchronized void close() {
         if (!closed) {
             log.debug("Closing CassandraMfaConnection");
-            session.close();
             closed = true;
+            onClose.run();
             log.info("CassandraMfaConnection closed");
         } else {
             log.trace("close() called on already closed connection");
@@ -83,19 +278,55 @@ public class CassandraMfaConnection implements Connection {
         return closed;
     }
 
+    <T> T await(CompletionStage<T> stage) throws SQLException {
+        try {
+            return CqlFutures.await(stage);
+        } catch (SQLException e) {
+            throw checkFatal(e);
+        }
+    }
+
+    /**
+     * Tells the fatal error listener about {@code e} if it leaves this connection unusable; returns {@code e}.
+     */
+    SQLException checkFatal(SQLException e) {
+        if (CqlFutures.isFatal(e) || session.isClosed()) {
+            log.warn("Connection failed: {}", e.toString());
+            onFatalError.accept(e);
+        }
+        return e;
+    }
+
+    void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection is closed");
+        }
+    }
+
+    private static void requireForwardOnlyReadOnly(int resultSetType, int resultSetConcurrency) throws SQLException {
+        if (resultSetType != ResultSet.TYPE_FORWARD_ONLY || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
+            throw new SQLFeatureNotSupportedException("Only TYPE_FORWARD_ONLY, CONCUR_READ_ONLY result sets are supported");
+        }
+    }
+
     @Override
     public DatabaseMetaData getMetaData() throws SQLException {
-        throw new SQLFeatureNotSupportedException("getMetaData not implemented");
+        checkOpen();
+        return new CassandraMfaDatabaseMetaData(this, schemaMetadata);
     }
 
     @Override
-    public void setReadOnly(boolean readOnly) {
-        // no-op
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        checkOpen();
+        if (this.readOnly != readOnly) {
+            this.readOnly = readOnly;
+            executionProfile = null;
+        }
     }
 
     @Override
     public boolean isReadOnly() {
-        return true;
+        return readOnly;
     }
 
     @Override
@@ -126,12 +357,14 @@ public class CassandraMfaConnection implements Connection {
 
     @Override
     public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        requireForwardOnlyReadOnly(resultSetType, resultSetConcurrency);
+        return createStatement();
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        requireForwardOnlyReadOnly(resultSetType, resultSetConcurrency);
+        return prepareStatement(sql);
     }
 
     @Override
@@ -179,13 +412,13 @@ public class CassandraMfaConnection implements Connection {
 
     @Override
     public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        return createStatement(resultSetType, resultSetConcurrency);
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
                                               int resultSetHoldability) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        return prepareStatement(sql, resultSetType, resultSetConcurrency);
     }
 
     @Override
@@ -196,7 +429,10 @@ public class CassandraMfaConnection implements Connection {
 
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        if (autoGeneratedKeys != Statement.NO_GENERATED_KEYS) {
+            throw new SQLFeatureNotSupportedException("Generated keys not supported");
+        }
+        return prepareStatement(sql);
     }
 
     @Override
@@ -230,24 +466,66 @@ public class CassandraMfaConnection implements Connection {
     }
 
     @Override
-    public boolean isValid(int timeout) {
-        return !closed;
+    public boolean isValid(int timeout) throws SQLException {
+        if (timeout < 0) {
+            throw new SQLException("timeout must be >= 0 but was " + timeout);
+        }
+        return !closed && validator.isValid(timeout);
     }
 
     @Override
-    public void setClientInfo(String name, String value) { }
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        checkClientInfoOpen(Map.of(name, ClientInfoStatus.REASON_UNKNOWN));
+        checkExecutionProfile(name, value, Map.of(name, ClientInfoStatus.REASON_VALUE_INVALID));
+        if (value == null) {
+            clientInfo.remove(name);
+        } else {
+            clientInfo.put(name, value);
+        }
+        if (EXECUTION_PROFILE.equals(name)) {
+            executionProfile = null;
+        }
+    }
 
     @Override
-    public void setClientInfo(Properties properties) { }
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        Map<String, ClientInfoStatus> failed = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            failed.put(name, ClientInfoStatus.REASON_UNKNOWN);
+        }
+        checkClientInfoOpen(failed);
+        failed.replaceAll((name, status) -> ClientInfoStatus.REASON_VALUE_INVALID);
+        checkExecutionProfile(EXECUTION_PROFILE, properties.getProperty(EXECUTION_PROFILE), failed);
+        clientInfo.clear();
+        for (String name : properties.stringPropertyNames()) {
+            clientInfo.put(name, properties.getProperty(name));
+        }
+        executionProfile = null;
+    }
+
+    private void checkClientInfoOpen(Map<String, ClientInfoStatus> failed) throws SQLClientInfoException {
+        if (closed) {
+            throw new SQLClientInfoException("Connection is closed", failed);
+        }
+    }
+
+    private void checkExecutionProfile(String name, String value, Map<String, ClientInfoStatus> failed)
+            throws SQLClientInfoException {
+        if (EXECUTION_PROFILE.equals(name) && value != null && !ExecutionProfiles.isDefined(session, value)) {
+            throw new SQLClientInfoException("No execution profile named '" + value + "' in the driver configuration", failed);
+        }
+    }
 
     @Override
     public String getClientInfo(String name) {
-        return null;
+        return clientInfo.get(name);
     }
 
     @Override
     public Properties getClientInfo() {
-        return new Properties();
+        Properties properties = new Properties();
+        properties.putAll(clientInfo);
+        return properties;
     }
 
     @Override
@@ -275,23 +553,34 @@ public class CassandraMfaConnection implements Connection {
     }
 
     @Override
-    public void setNetworkTimeout(Executor executor, int milliseconds) { }
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        // applied as the driver's per-request timeout, so no executor is needed to enforce it
+        checkOpen();
+        if (milliseconds < 0) {
+            throw new SQLException("Network timeout must be >= 0 but was " + milliseconds);
+        }
+        this.networkTimeout = milliseconds;
+    }
 
     @Override
     public int getNetworkTimeout() {
-        return 0;
+        return networkTimeout;
     }
 
     @Override
     public <T> T unwrap(Class<T> iface) throws SQLException {
+        // the session first, so supertypes both share (AutoCloseable, Object) still unwrap to it
         if (iface.isAssignableFrom(CqlSession.class)) {
             return iface.cast(session);
         }
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
         throw new SQLFeatureNotSupportedException("unwrap not supported for " + iface);
     }
 
     @Override
     public boolean isWrapperFor(Class<?> iface) {
-        return iface.isAssignableFrom(CqlSession.class);
+        return iface.isAssignableFrom(CqlSession.class) || iface.isInstance(this);
     }
 }
\ No newline at end of file
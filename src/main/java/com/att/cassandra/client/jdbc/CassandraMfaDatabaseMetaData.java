@@ -0,0 +1,1193 @@
+package com.att.cassandra.client.jdbc;
+
+import com.att.cassandra.client.jdbc.InMemoryResultSet.Column;
+import com.datastax.oss.driver.api.core.Version;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.RowIdLifetime;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * {@link DatabaseMetaData} for a Cassandra connection. Keyspaces are reported as schemas and there
+ * are no catalogs. Catalog queries are answered from the driver's schema metadata through the
+ * connection's {@link SchemaMetadataCache}, so they never query the system tables.
+ */
+public class CassandraMfaDatabaseMetaData implements DatabaseMetaData {
+
+    private static final Logger log = LoggerFactory.getLogger(CassandraMfaDatabaseMetaData.class);
+
+    private static final Column[] CATALOG_COLUMNS = {new Column("TABLE_CAT", Types.VARCHAR)};
+    private static final Column[] TABLE_TYPE_COLUMNS = {new Column("TABLE_TYPE", Types.VARCHAR)};
+
+    private static final Column[] TYPE_INFO_COLUMNS = {
+            new Column("TYPE_NAME", Types.VARCHAR),
+            new Column("DATA_TYPE", Types.INTEGER),
+            new Column("PRECISION", Types.INTEGER),
+            new Column("LITERAL_PREFIX", Types.VARCHAR),
+            new Column("LITERAL_SUFFIX", Types.VARCHAR),
+            new Column("CREATE_PARAMS", Types.VARCHAR),
+            new Column("NULLABLE", Types.SMALLINT),
+            new Column("CASE_SENSITIVE", Types.BOOLEAN),
+            new Column("SEARCHABLE", Types.SMALLINT),
+            new Column("UNSIGNED_ATTRIBUTE", Types.BOOLEAN),
+            new Column("FIXED_PREC_SCALE", Types.BOOLEAN),
+            new Column("AUTO_INCREMENT", Types.BOOLEAN),
+            new Column("LOCAL_TYPE_NAME", Types.VARCHAR),
+            new Column("MINIMUM_SCALE", Types.SMALLINT),
+            new Column("MAXIMUM_SCALE", Types.SMALLINT),
+            new Column("SQL_DATA_TYPE", Types.INTEGER),
+            new Column("SQL_DATETIME_SUB", Types.INTEGER),
+            new Column("NUM_PREC_RADIX", Types.INTEGER)
+    };
+
+    // sorted by DATA_TYPE, as getTypeInfo() requires; DATA_TYPE is whatever getColumns() reports
+    private static final List<Object[]> TYPE_INFO = typeInfo(
+            new Object[]{"tinyint", CqlTypes.TINYINT, 3},
+            new Object[]{"bigint", CqlTypes.BIGINT, 19},
+            new Object[]{"counter", CqlTypes.COUNTER, 19},
+            new Object[]{"blob", CqlTypes.BLOB, null},
+            new Object[]{"varint", CqlTypes.VARINT, null},
+            new Object[]{"decimal", CqlTypes.DECIMAL, null},
+            new Object[]{"int", CqlTypes.INT, 10},
+            new Object[]{"smallint", CqlTypes.SMALLINT, 5},
+            new Object[]{"float", CqlTypes.FLOAT, 7},
+            new Object[]{"double", CqlTypes.DOUBLE, 15},
+            new Object[]{"text", CqlTypes.VARCHAR, null},
+            new Object[]{"ascii", CqlTypes.ASCII, null},
+            new Object[]{"varchar", CqlTypes.VARCHAR, null},
+            new Object[]{"boolean", CqlTypes.BOOLEAN, null},
+            new Object[]{"date", CqlTypes.DATE, null},
+            new Object[]{"time", CqlTypes.TIME, null},
+            new Object[]{"timestamp", CqlTypes.TIMESTAMP, null},
+            new Object[]{"uuid", CqlTypes.UUID, null},
+            new Object[]{"timeuuid", CqlTypes.TIMEUUID, null},
+            new Object[]{"inet", CqlTypes.INET, null},
+            new Object[]{"duration", CqlTypes.DURATION, null},
+            new Object[]{"map", CqlTypes.MAP, null},
+            new Object[]{"tuple", CqlTypes.TUPLE, null},
+            new Object[]{"list", CqlTypes.LIST, null},
+            new Object[]{"set", CqlTypes.SET, null}
+    );
+
+    private static final String DRIVER_NAME = "Cassandra MFA JDBC Driver";
+    private static final int DRIVER_MAJOR_VERSION = 1;
+    private static final int DRIVER_MINOR_VERSION = 0;
+
+    private final CassandraMfaConnection connection;
+    private final SchemaMetadataCache schema;
+
+    CassandraMfaDatabaseMetaData(CassandraMfaConnection connection, SchemaMetadataCache schema) {
+        this.connection = connection;
+        this.schema = schema;
+    }
+
+    // --- catalog queries
+
+    @Override
+    public ResultSet getCatalogs() {
+        return new InMemoryResultSet(CATALOG_COLUMNS, List.of());
+    }
+
+    @Override
+    public ResultSet getSchemas() throws SQLException {
+        return getSchemas(null, null);
+    }
+
+    @Override
+    public ResultSet getSchemas(String catalog, String schemaPattern) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        if (catalog == null || catalog.isEmpty()) {
+            Predicate<String> schemaMatcher = matcher(schemaPattern);
+            for (Object[] row : schemas()) {
+                if (schemaMatcher.test((String) row[0])) {
+                    rows.add(row);
+                }
+            }
+        }
+        return new InMemoryResultSet(SchemaMetadataCache.SCHEMA_COLUMNS, rows);
+    }
+
+    @Override
+    public ResultSet getTableTypes() {
+        return new InMemoryResultSet(TABLE_TYPE_COLUMNS, List.of(
+                new Object[]{SchemaMetadataCache.SYSTEM_TABLE},
+                new Object[]{SchemaMetadataCache.TABLE}));
+    }
+
+    @Override
+    public ResultSet getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types)
+            throws SQLException {
+        List<String> wanted = types == null ? null : Arrays.asList(types);
+        Predicate<String> tableMatcher = matcher(tableNamePattern);
+        List<Object[]> rows = new ArrayList<>();
+        for (String keyspace : keyspaces(catalog, schemaPattern)) {
+            for (Object[] row : tables(keyspace)) {
+                if (tableMatcher.test((String) row[2]) && (wanted == null || wanted.contains((String) row[3]))) {
+                    rows.add(row);
+                }
+            }
+        }
+        // ordered by TABLE_TYPE, TABLE_SCHEM, TABLE_NAME
+        rows.sort((a, b) -> ((String) a[3]).compareTo((String) b[3]));
+        return new InMemoryResultSet(SchemaMetadataCache.TABLE_COLUMNS, rows);
+    }
+
+    @Override
+    public ResultSet getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern)
+            throws SQLException {
+        Predicate<String> columnMatcher = matcher(columnNamePattern);
+        List<Object[]> rows = new ArrayList<>();
+        for (String[] table : tables(catalog, schemaPattern, tableNamePattern)) {
+            for (Object[] row : metadata(() -> schema.columns(table[0], table[1]))) {
+                if (columnMatcher.test((String) row[3])) {
+                    rows.add(row);
+                }
+            }
+        }
+        return new InMemoryResultSet(SchemaMetadataCache.COLUMN_COLUMNS, rows);
+    }
+
+    @Override
+    public ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (String[] match : tables(catalog, schema, table)) {
+            rows.addAll(metadata(() -> this.schema.primaryKeys(match[0], match[1])));
+        }
+        // ordered by COLUMN_NAME
+        rows.sort((a, b) -> ((String) a[3]).compareTo((String) b[3]));
+        return new InMemoryResultSet(SchemaMetadataCache.PRIMARY_KEY_COLUMNS, rows);
+    }
+
+    @Override
+    public ResultSet getIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate)
+            throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        // secondary indexes are never unique
+        if (!unique) {
+            for (String[] match : tables(catalog, schema, table)) {
+                rows.addAll(metadata(() -> this.schema.indexes(match[0], match[1])));
+            }
+        }
+        return new InMemoryResultSet(SchemaMetadataCache.INDEX_COLUMNS, rows);
+    }
+
+    @Override
+    public ResultSet getTypeInfo() {
+        return new InMemoryResultSet(TYPE_INFO_COLUMNS, TYPE_INFO);
+    }
+
+    private List<Object[]> schemas() throws SQLException {
+        return metadata(schema::schemas);
+    }
+
+    private List<Object[]> tables(String keyspace) throws SQLException {
+        return metadata(() -> schema.tables(keyspace));
+    }
+
+    private List<String> keyspaces(String catalog, String schemaPattern) throws SQLException {
+        List<String> keyspaces = new ArrayList<>();
+        if (catalog != null && !catalog.isEmpty()) {
+            return keyspaces;
+        }
+        if (schemaPattern != null && !hasWildcards(schemaPattern)) {
+            keyspaces.add(unescape(schemaPattern));
+            return keyspaces;
+        }
+        Predicate<String> schemaMatcher = matcher(schemaPattern);
+        for (Object[] row : schemas()) {
+            if (schemaMatcher.test((String) row[0])) {
+                keyspaces.add((String) row[0]);
+            }
+        }
+        return keyspaces;
+    }
+
+    // [keyspace, table] pairs matching the patterns
+    private List<String[]> tables(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
+        Predicate<String> tableMatcher = matcher(tableNamePattern);
+        List<String[]> tables = new ArrayList<>();
+        for (String keyspace : keyspaces(catalog, schemaPattern)) {
+            if (tableNamePattern != null && !hasWildcards(tableNamePattern)) {
+                tables.add(new String[]{keyspace, unescape(tableNamePattern)});
+                continue;
+            }
+            for (Object[] row : tables(keyspace)) {
+                if (tableMatcher.test((String) row[2])) {
+                    tables.add(new String[]{keyspace, (String) row[2]});
+                }
+            }
+        }
+        return tables;
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        List<Object[]> get();
+    }
+
+    private List<Object[]> metadata(Lookup lookup) throws SQLException {
+        connection.checkOpen();
+        try {
+            return lookup.get();
+        } catch (RuntimeException e) {
+            log.warn("Failed to read schema metadata", e);
+            throw new SQLException("Unable to read schema metadata", e);
+        }
+    }
+
+    // JDBC search patterns: '%' matches any run of characters, '_' any one, '\' escapes either;
+    // compiled once per call rather than once per candidate row
+    static Predicate<String> matcher(String pattern) {
+        if (pattern == null || pattern.equals("%")) {
+            return value -> true;
+        }
+        if (!hasWildcards(pattern)) {
+            return unescape(pattern)::equals;
+        }
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+            } else if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        Pattern compiled = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        return value -> compiled.matcher(value).matches();
+    }
+
+    private static boolean hasWildcards(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '%' || c == '_') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String unescape(String pattern) {
+        return pattern.indexOf('\\') < 0 ? pattern : pattern.replaceAll("\\\\(.)", "$1");
+    }
+
+    private static List<Object[]> typeInfo(Object[]... types) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] type : types) {
+            String name = (String) type[0];
+            int sqlType = CqlTypes.sqlType((Integer) type[1]);
+            boolean text = sqlType == Types.VARCHAR;
+            rows.add(new Object[]{
+                    name, sqlType, type[2], text ? "'" : null, text ? "'" : null, null,
+                    (short) typeNullable, text, (short) typeSearchable, false,
+                    false, false, name, (short) 0, (short) 0, null, null, type[2] == null ? null : 10
+            });
+        }
+        return List.copyOf(rows);
+    }
+
+    private static ResultSet empty(String... labels) {
+        Column[] columns = new Column[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            columns[i] = new Column(labels[i], Types.VARCHAR);
+        }
+        return new InMemoryResultSet(columns, List.of());
+    }
+
+    // --- database and driver
+
+    private Version cassandraVersion() throws SQLException {
+        connection.checkOpen();
+        for (Node node : connection.getSession().getMetadata().getNodes().values()) {
+            if (node.getCassandraVersion() != null) {
+                return node.getCassandraVersion();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getDatabaseProductName() {
+        return "Apache Cassandra";
+    }
+
+    @Override
+    public String getDatabaseProductVersion() throws SQLException {
+        Version version = cassandraVersion();
+        return version == null ? "" : version.toString();
+    }
+
+    @Override
+    public int getDatabaseMajorVersion() throws SQLException {
+        Version version = cassandraVersion();
+        return version == null ? 0 : version.getMajor();
+    }
+
+    @Override
+    public int getDatabaseMinorVersion() throws SQLException {
+        Version version = cassandraVersion();
+        return version == null ? 0 : version.getMinor();
+    }
+
+    @Override
+    public String getDriverName() {
+        return DRIVER_NAME;
+    }
+
+    @Override
+    public String getDriverVersion() {
+        return DRIVER_MAJOR_VERSION + "." + DRIVER_MINOR_VERSION;
+    }
+
+    @Override
+    public int getDriverMajorVersion() {
+        return DRIVER_MAJOR_VERSION;
+    }
+
+    @Override
+    public int getDriverMinorVersion() {
+        return DRIVER_MINOR_VERSION;
+    }
+
+    @Override
+    public int getJDBCMajorVersion() {
+        return 4;
+    }
+
+    @Override
+    public int getJDBCMinorVersion() {
+        return 2;
+    }
+
+    @Override
+    public String getURL() {
+        CassandraUrl url = connection.getUrl();
+        return url == null ? null : "jdbc:cassandra-mfa://" + url.contactPointList() + '/' + url.localDc;
+    }
+
+    @Override
+    public String getUserName() {
+        CassandraUrl url = connection.getUrl();
+        return url == null ? null : url.clientId;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return connection.isReadOnly();
+    }
+
+    // --- identifiers and terms
+
+    @Override
+    public String getIdentifierQuoteString() {
+        return "\"";
+    }
+
+    @Override
+    public String getSearchStringEscape() {
+        return "\\";
+    }
+
+    @Override
+    public String getExtraNameCharacters() {
+        return "";
+    }
+
+    @Override
+    public String getSchemaTerm() {
+        return "keyspace";
+    }
+
+    @Override
+    public String getProcedureTerm() {
+        return "procedure";
+    }
+
+    @Override
+    public String getCatalogTerm() {
+        return "catalog";
+    }
+
+    @Override
+    public boolean isCatalogAtStart() {
+        return true;
+    }
+
+    @Override
+    public String getCatalogSeparator() {
+        return ".";
+    }
+
+    @Override
+    public boolean supportsMixedCaseIdentifiers() {
+        return false;
+    }
+
+    @Override
+    public boolean storesUpperCaseIdentifiers() {
+        return false;
+    }
+
+    @Override
+    public boolean storesLowerCaseIdentifiers() {
+        return true;
+    }
+
+    @Override
+    public boolean storesMixedCaseIdentifiers() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsMixedCaseQuotedIdentifiers() {
+        return true;
+    }
+
+    @Override
+    public boolean storesUpperCaseQuotedIdentifiers() {
+        return false;
+    }
+
+    @Override
+    public boolean storesLowerCaseQuotedIdentifiers() {
+        return false;
+    }
+
+    @Override
+    public boolean storesMixedCaseQuotedIdentifiers() {
+        return true;
+    }
+
+    @Override
+    public String getSQLKeywords() {
+        return "ALLOW,APPLY,ASCII,AUTHORIZE,BATCH,BIGINT,BLOB,CLUSTERING,COUNTER,FILTERING,FROZEN,KEYSPACE,"
+                + "KEYSPACES,LIST,MAP,MATERIALIZED,MODIFY,PERMISSION,PERMISSIONS,STATIC,TEXT,TIMEUUID,TOKEN,TTL,"
+                + "TUPLE,UNLOGGED,USE,USING,UUID,VARINT,WRITETIME";
+    }
+
+    @Override
+    public String getNumericFunctions() {
+        return "";
+    }
+
+    @Override
+    public String getStringFunctions() {
+        return "";
+    }
+
+    @Override
+    public String getSystemFunctions() {
+        return "TOKEN,TTL,WRITETIME";
+    }
+
+    @Override
+    public String getTimeDateFunctions() {
+        return "NOW,CURRENTDATE,CURRENTTIME,CURRENTTIMESTAMP,TODATE,TOTIMESTAMP,TOUNIXTIMESTAMP";
+    }
+
+    // --- capabilities
+
+    @Override
+    public boolean allProceduresAreCallable() {
+        return false;
+    }
+
+    @Override
+    public boolean allTablesAreSelectable() {
+        return false;
+    }
+
+    @Override
+    public boolean nullsAreSortedHigh() {
+        return false;
+    }
+
+    @Override
+    public boolean nullsAreSortedLow() {
+        return true;
+    }
+
+    @Override
+    public boolean nullsAreSortedAtStart() {
+        return false;
+    }
+
+    @Override
+    public boolean nullsAreSortedAtEnd() {
+        return false;
+    }
+
+    @Override
+    public boolean usesLocalFiles() {
+        return false;
+    }
+
+    @Override
+    public boolean usesLocalFilePerTable() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsAlterTableWithAddColumn() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsAlterTableWithDropColumn() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsColumnAliasing() {
+        return true;
+    }
+
+    @Override
+    public boolean nullPlusNonNullIsNull() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsConvert() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsConvert(int fromType, int toType) {
+        return false;
+    }
+
+    @Override
+    public boolean supportsTableCorrelationNames() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsDifferentTableCorrelationNames() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsExpressionsInOrderBy() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsOrderByUnrelated() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsGroupBy() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsGroupByUnrelated() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsGroupByBeyondSelect() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsLikeEscapeClause() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsMultipleResultSets() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsMultipleTransactions() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsNonNullableColumns() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsMinimumSQLGrammar() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsCoreSQLGrammar() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsExtendedSQLGrammar() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsANSI92EntryLevelSQL() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsANSI92IntermediateSQL() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsANSI92FullSQL() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsIntegrityEnhancementFacility() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsOuterJoins() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsFullOuterJoins() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsLimitedOuterJoins() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsSchemasInDataManipulation() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsSchemasInProcedureCalls() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsSchemasInTableDefinitions() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsSchemasInIndexDefinitions() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsSchemasInPrivilegeDefinitions() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsCatalogsInDataManipulation() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsCatalogsInProcedureCalls() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsCatalogsInTableDefinitions() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsCatalogsInIndexDefinitions() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsCatalogsInPrivilegeDefinitions() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsPositionedDelete() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsPositionedUpdate() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsSelectForUpdate() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsStoredProcedures() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsSubqueriesInComparisons() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsSubqueriesInExists() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsSubqueriesInIns() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsSubqueriesInQuantifieds() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsCorrelatedSubqueries() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsUnion() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsUnionAll() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsOpenCursorsAcrossCommit() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsOpenCursorsAcrossRollback() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsOpenStatementsAcrossCommit() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsOpenStatementsAcrossRollback() {
+        return true;
+    }
+
+    @Override
+    public int getMaxBinaryLiteralLength() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxCharLiteralLength() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxColumnNameLength() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxColumnsInGroupBy() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxColumnsInIndex() {
+        return 1;
+    }
+
+    @Override
+    public int getMaxColumnsInOrderBy() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxColumnsInSelect() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxColumnsInTable() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxCursorNameLength() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxIndexLength() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxSchemaNameLength() {
+        return 48;
+    }
+
+    @Override
+    public int getMaxProcedureNameLength() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxCatalogNameLength() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxRowSize() {
+        return 0;
+    }
+
+    @Override
+    public boolean doesMaxRowSizeIncludeBlobs() {
+        return false;
+    }
+
+    @Override
+    public int getMaxStatementLength() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxStatements() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxTableNameLength() {
+        return 48;
+    }
+
+    @Override
+    public int getMaxTablesInSelect() {
+        return 1;
+    }
+
+    @Override
+    public int getMaxUserNameLength() {
+        return 0;
+    }
+
+    @Override
+    public int getDefaultTransactionIsolation() {
+        return Connection.TRANSACTION_NONE;
+    }
+
+    @Override
+    public boolean supportsTransactions() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsTransactionIsolationLevel(int level) {
+        return level == Connection.TRANSACTION_NONE;
+    }
+
+    @Override
+    public boolean supportsDataDefinitionAndDataManipulationTransactions() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsDataManipulationTransactionsOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean dataDefinitionCausesTransactionCommit() {
+        return false;
+    }
+
+    @Override
+    public boolean dataDefinitionIgnoredInTransactions() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsResultSetType(int type) {
+        return type == ResultSet.TYPE_FORWARD_ONLY;
+    }
+
+    @Override
+    public boolean supportsResultSetConcurrency(int type, int concurrency) {
+        return type == ResultSet.TYPE_FORWARD_ONLY && concurrency == ResultSet.CONCUR_READ_ONLY;
+    }
+
+    @Override
+    public boolean ownUpdatesAreVisible(int type) {
+        return false;
+    }
+
+    @Override
+    public boolean ownDeletesAreVisible(int type) {
+        return false;
+    }
+
+    @Override
+    public boolean ownInsertsAreVisible(int type) {
+        return false;
+    }
+
+    @Override
+    public boolean othersUpdatesAreVisible(int type) {
+        return false;
+    }
+
+    @Override
+    public boolean othersDeletesAreVisible(int type) {
+        return false;
+    }
+
+    @Override
+    public boolean othersInsertsAreVisible(int type) {
+        return false;
+    }
+
+    @Override
+    public boolean updatesAreDetected(int type) {
+        return false;
+    }
+
+    @Override
+    public boolean deletesAreDetected(int type) {
+        return false;
+    }
+
+    @Override
+    public boolean insertsAreDetected(int type) {
+        return false;
+    }
+
+    @Override
+    public boolean supportsBatchUpdates() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsSavepoints() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsNamedParameters() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsMultipleOpenResults() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsGetGeneratedKeys() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsResultSetHoldability(int holdability) {
+        return holdability == ResultSet.CLOSE_CURSORS_AT_COMMIT;
+    }
+
+    @Override
+    public int getResultSetHoldability() {
+        return ResultSet.CLOSE_CURSORS_AT_COMMIT;
+    }
+
+    @Override
+    public int getSQLStateType() {
+        return sqlStateSQL;
+    }
+
+    @Override
+    public boolean locatorsUpdateCopy() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsStatementPooling() {
+        return false;
+    }
+
+    @Override
+    public RowIdLifetime getRowIdLifetime() {
+        return RowIdLifetime.ROWID_UNSUPPORTED;
+    }
+
+    @Override
+    public boolean supportsStoredFunctionsUsingCallSyntax() {
+        return false;
+    }
+
+    @Override
+    public boolean autoCommitFailureClosesAllResultSets() {
+        return false;
+    }
+
+    @Override
+    public boolean generatedKeyAlwaysReturned() {
+        return false;
+    }
+
+    // --- objects Cassandra doesn't have; always empty
+
+    @Override
+    public ResultSet getProcedures(String catalog, String schemaPattern, String procedureNamePattern) {
+        return empty("PROCEDURE_CAT", "PROCEDURE_SCHEM", "PROCEDURE_NAME", "reserved1", "reserved2", "reserved3",
+                "REMARKS", "PROCEDURE_TYPE", "SPECIFIC_NAME");
+    }
+
+    @Override
+    public ResultSet getProcedureColumns(String catalog, String schemaPattern, String procedureNamePattern,
+                                         String columnNamePattern) {
+        return empty("PROCEDURE_CAT", "PROCEDURE_SCHEM", "PROCEDURE_NAME", "COLUMN_NAME", "COLUMN_TYPE");
+    }
+
+    @Override
+    public ResultSet getColumnPrivileges(String catalog, String schema, String table, String columnNamePattern) {
+        return empty("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "GRANTOR", "GRANTEE", "PRIVILEGE",
+                "IS_GRANTABLE");
+    }
+
+    @Override
+    public ResultSet getTablePrivileges(String catalog, String schemaPattern, String tableNamePattern) {
+        return empty("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "GRANTOR", "GRANTEE", "PRIVILEGE", "IS_GRANTABLE");
+    }
+
+    @Override
+    public ResultSet getBestRowIdentifier(String catalog, String schema, String table, int scope, boolean nullable) {
+        return empty("SCOPE", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME", "COLUMN_SIZE", "BUFFER_LENGTH",
+                "DECIMAL_DIGITS", "PSEUDO_COLUMN");
+    }
+
+    @Override
+    public ResultSet getVersionColumns(String catalog, String schema, String table) {
+        return empty("SCOPE", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME", "COLUMN_SIZE", "BUFFER_LENGTH",
+                "DECIMAL_DIGITS", "PSEUDO_COLUMN");
+    }
+
+    @Override
+    public ResultSet getImportedKeys(String catalog, String schema, String table) {
+        return foreignKeys();
+    }
+
+    @Override
+    public ResultSet getExportedKeys(String catalog, String schema, String table) {
+        return foreignKeys();
+    }
+
+    @Override
+    public ResultSet getCrossReference(String parentCatalog, String parentSchema, String parentTable,
+                                       String foreignCatalog, String foreignSchema, String foreignTable) {
+        return foreignKeys();
+    }
+
+    private static ResultSet foreignKeys() {
+        return empty("PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKTABLE_CAT",
+                "FKTABLE_SCHEM", "FKTABLE_NAME", "FKCOLUMN_NAME", "KEY_SEQ", "UPDATE_RULE", "DELETE_RULE",
+                "FK_NAME", "PK_NAME", "DEFERRABILITY");
+    }
+
+    @Override
+    public ResultSet getUDTs(String catalog, String schemaPattern, String typeNamePattern, int[] types) {
+        return empty("TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "CLASS_NAME", "DATA_TYPE", "REMARKS", "BASE_TYPE");
+    }
+
+    @Override
+    public ResultSet getSuperTypes(String catalog, String schemaPattern, String typeNamePattern) {
+        return empty("TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "SUPERTYPE_CAT", "SUPERTYPE_SCHEM", "SUPERTYPE_NAME");
+    }
+
+    @Override
+    public ResultSet getSuperTables(String catalog, String schemaPattern, String tableNamePattern) {
+        return empty("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "SUPERTABLE_NAME");
+    }
+
+    @Override
+    public ResultSet getAttributes(String catalog, String schemaPattern, String typeNamePattern,
+                                   String attributeNamePattern) {
+        return empty("TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "ATTR_NAME", "DATA_TYPE", "ATTR_TYPE_NAME");
+    }
+
+    @Override
+    public ResultSet getClientInfoProperties() {
+        return empty("NAME", "MAX_LEN", "DEFAULT_VALUE", "DESCRIPTION");
+    }
+
+    @Override
+    public ResultSet getFunctions(String catalog, String schemaPattern, String functionNamePattern) {
+        return empty("FUNCTION_CAT", "FUNCTION_SCHEM", "FUNCTION_NAME", "REMARKS", "FUNCTION_TYPE", "SPECIFIC_NAME");
+    }
+
+    @Override
+    public ResultSet getFunctionColumns(String catalog, String schemaPattern, String functionNamePattern,
+                                        String columnNamePattern) {
+        return empty("FUNCTION_CAT", "FUNCTION_SCHEM", "FUNCTION_NAME", "COLUMN_NAME", "COLUMN_TYPE");
+    }
+
+    @Override
+    public ResultSet getPseudoColumns(String catalog, String schemaPattern, String tableNamePattern,
+                                      String columnNamePattern) {
+        return empty("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "DATA_TYPE", "COLUMN_SIZE",
+                "DECIMAL_DIGITS", "NUM_PREC_RADIX", "COLUMN_USAGE", "REMARKS", "CHAR_OCTET_LENGTH", "IS_NULLABLE");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLFeatureNotSupportedException("unwrap not supported for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
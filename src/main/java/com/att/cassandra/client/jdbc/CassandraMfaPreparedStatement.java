@@ -0,0 +1,441 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * JDBC {@link java.sql.PreparedStatement} over a server-side prepared statement taken from the
+ * session's {@link PreparedStatementCache}. Parameters are converted to the driver's Java types
+ * for each bind marker as they are set.
+ *
+ * The CQL text is fixed once prepared, so max rows is only enforced client side here.
+ */
+public class CassandraMfaPreparedStatement extends CassandraMfaStatement implements java.sql.PreparedStatement {
+
+    private static final Logger log = LoggerFactory.getLogger(CassandraMfaPreparedStatement.class);
+
+    private static final Object UNSET = new Object();
+
+    protected final PreparedStatement prepared;
+    private final ColumnDefinitions variables;
+    private final Object[] values;
+
+    public CassandraMfaPreparedStatement(CassandraMfaConnection connection, PreparedStatement prepared) {
+        super(connection);
+        this.prepared = prepared;
+        this.variables = prepared.getVariableDefinitions();
+        this.values = new Object[variables.size()];
+        Arrays.fill(values, UNSET);
+    }
+
+    /**
+     * Binds the current parameters, with this statement's fetch size and timeout applied.
+     */
+    BoundStatement bind() throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == UNSET) {
+                throw new SQLException("No value specified for parameter " + (i + 1));
+            }
+        }
+        try {
+            return configure(prepared.bind(values));
+        } catch (RuntimeException e) {
+            throw CqlFutures.toSqlException(e);
+        }
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        if (!execute()) {
+            throw new SQLException("Statement did not return a result set");
+        }
+        return getResultSet();
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        return (int) executeLargeUpdate();
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        execute();
+        return updateCountOf();
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        checkOpen();
+        log.trace("Executing prepared CQL: {}", prepared.getQuery());
+        return handleResult(connection.await(session.executeAsync(bind())));
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        throw notOnPrepared();
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        throw notOnPrepared();
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        throw notOnPrepared();
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        throw notOnPrepared();
+    }
+
+    private static SQLException notOnPrepared() {
+        return new SQLException("Methods taking a CQL string can't be called on a PreparedStatement");
+    }
+
+    private void set(int parameterIndex, Object value) throws SQLException {
+        if (parameterIndex < 1 || parameterIndex > values.length) {
+            throw new SQLException("Parameter index out of range: " + parameterIndex + " (statement has " + values.length + ")");
+        }
+        try {
+            values[parameterIndex - 1] = CqlTypes.coerce(variables.get(parameterIndex - 1).getType(), value);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Invalid value for parameter " + parameterIndex + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void clearParameters() {
+        Arrays.fill(values, UNSET);
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        set(parameterIndex, null);
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        set(parameterIndex, null);
+    }
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setNString(int parameterIndex, String value) throws SQLException {
+        set(parameterIndex, value);
+    }
+
+    @Override
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+        // CQL timestamps are instants, so the calendar's zone doesn't apply
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        setAsciiStream(parameterIndex, x, (long) length);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        set(parameterIndex, x == null ? null : new String(readBytes(x, length), StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+        setAsciiStream(parameterIndex, x, -1L);
+    }
+
+    @Override
+    @Deprecated
+    public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        throw new SQLFeatureNotSupportedException("setUnicodeStream not supported");
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        setBinaryStream(parameterIndex, x, (long) length);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        set(parameterIndex, x == null ? null : readBytes(x, length));
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+        setBinaryStream(parameterIndex, x, -1L);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+        setCharacterStream(parameterIndex, reader, (long) length);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+        set(parameterIndex, reader == null ? null : readString(reader, length));
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+        setCharacterStream(parameterIndex, reader, -1L);
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+        setCharacterStream(parameterIndex, value, length);
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+        setCharacterStream(parameterIndex, value);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, Blob x) throws SQLException {
+        set(parameterIndex, x == null ? null : x.getBytes(1, (int) x.length()));
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+        setBinaryStream(parameterIndex, inputStream, length);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+        setBinaryStream(parameterIndex, inputStream);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Clob x) throws SQLException {
+        set(parameterIndex, x == null ? null : x.getSubString(1, (int) x.length()));
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        setCharacterStream(parameterIndex, reader, length);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader) throws SQLException {
+        setCharacterStream(parameterIndex, reader);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, NClob value) throws SQLException {
+        setClob(parameterIndex, value);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        setCharacterStream(parameterIndex, reader, length);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+        setCharacterStream(parameterIndex, reader);
+    }
+
+    // length < 0 reads to the end of the stream
+    private static byte[] readBytes(InputStream in, long length) throws SQLException {
+        try {
+            return length < 0 ? in.readAllBytes() : in.readNBytes((int) length);
+        } catch (IOException e) {
+            throw new SQLException("Unable to read parameter stream", e);
+        }
+    }
+
+    private static String readString(Reader reader, long length) throws SQLException {
+        try {
+            StringBuilder sb = new StringBuilder();
+            char[] buffer = new char[8192];
+            long remaining = length < 0 ? Long.MAX_VALUE : length;
+            int n;
+            while (remaining > 0 && (n = reader.read(buffer, 0, (int) Math.min(buffer.length, remaining))) >= 0) {
+                sb.append(buffer, 0, n);
+                remaining -= n;
+            }
+            return sb.toString();
+        } catch (IOException e) {
+            throw new SQLException("Unable to read parameter reader", e);
+        }
+    }
+
+    @Override
+    public void setRef(int parameterIndex, Ref x) throws SQLException {
+        throw new SQLFeatureNotSupportedException("setRef not supported");
+    }
+
+    @Override
+    public void setArray(int parameterIndex, Array x) throws SQLException {
+        throw new SQLFeatureNotSupportedException("setArray not supported; bind a java.util.List or Set with setObject");
+    }
+
+    @Override
+    public void setURL(int parameterIndex, URL x) throws SQLException {
+        set(parameterIndex, x == null ? null : x.toString());
+    }
+
+    @Override
+    public void setRowId(int parameterIndex, RowId x) throws SQLException {
+        throw new SQLFeatureNotSupportedException("setRowId not supported");
+    }
+
+    @Override
+    public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+        throw new SQLFeatureNotSupportedException("setSQLXML not supported");
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        checkOpen();
+        addToBatch(bind());
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        throw notOnPrepared();
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+        ColumnDefinitions columns = prepared.getResultSetDefinitions();
+        return columns.size() == 0 ? null : new CassandraMfaResultSetMetaData(columns);
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        throw new SQLFeatureNotSupportedException("getParameterMetaData not supported");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isAssignableFrom(PreparedStatement.class)) {
+            return iface.cast(prepared);
+        }
+        return super.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isAssignableFrom(PreparedStatement.class) || super.isWrapperFor(iface);
+    }
+}
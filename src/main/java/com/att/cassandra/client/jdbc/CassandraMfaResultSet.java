@@ -0,0 +1,361 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Forward-only, read-only view over a driver result. Rows are read from the current page while the
+ * following pages are fetched in the background, up to the statement's prefetch depth, so memory use
+ * is bounded by the page size times that depth plus one.
+ */
+public class CassandraMfaResultSet extends ForwardOnlyResultSet {
+
+    private final CassandraMfaStatement statement;
+    private final ColumnDefinitions columns;
+    private final int maxRows;
+    private final PagePrefetcher pages;
+    // protocol type code of each column, so primitive getters can pick the driver's primitive accessor
+    private final int[] types;
+    // column label to 1-based index, under both its exact and its lower-case form; built on first lookup
+    private Map<String, Integer> labels;
+
+    private AsyncResultSet page;
+    private Iterator<Row> rows;
+    private Row row;
+    private int rowNumber;
+    private boolean afterLast;
+    private volatile boolean closed = false;
+
+    public CassandraMfaResultSet(CassandraMfaStatement statement, AsyncResultSet firstPage, int maxRows, int prefetchPages) {
+        this.statement = statement;
+        this.columns = firstPage.getColumnDefinitions();
+        this.maxRows = maxRows;
+        this.page = firstPage;
+        this.rows = firstPage.currentPage().iterator();
+        this.pages = new PagePrefetcher(firstPage, prefetchPages);
+        this.types = new int[columns.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = columns.get(i).getType().getProtocolCode();
+        }
+    }
+
+    ColumnDefinitions getColumnDefinitions() {
+        return columns;
+    }
+
+    boolean wasApplied() {
+        return page.wasApplied();
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        checkOpen();
+        if (afterLast) {
+            return false;
+        }
+        if (maxRows > 0 && rowNumber >= maxRows) {
+            return end();
+        }
+        while (!rows.hasNext()) {
+            AsyncResultSet nextPage;
+            try {
+                nextPage = pages.next();
+            } catch (SQLException e) {
+                throw statement.connection.checkFatal(e);
+            }
+            if (nextPage == null) {
+                return end();
+            }
+            page = nextPage;
+            rows = page.currentPage().iterator();
+        }
+        row = rows.next();
+        rowNumber++;
+        return true;
+    }
+
+    private boolean end() {
+        row = null;
+        afterLast = true;
+        pages.close();
+        return false;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            row = null;
+            rows = null;
+            pages.close();
+            statement.resultSetClosed(this);
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private Row currentRow() throws SQLException {
+        checkOpen();
+        if (row == null) {
+            throw new SQLException(afterLast ? "No current row: after last row" : "No current row: call next() first");
+        }
+        return row;
+    }
+
+    private int index(int columnIndex) throws SQLException {
+        if (columnIndex < 1 || columnIndex > columns.size()) {
+            throw new SQLException("Column index out of range: " + columnIndex);
+        }
+        return columnIndex - 1;
+    }
+
+    /**
+     * The current row's value in {@code columnIndex} as the driver decodes it by default.
+     */
+    @Override
+    Object value(int columnIndex) throws SQLException {
+        Row current = currentRow();
+        int i = index(columnIndex);
+        if (current.isNull(i)) {
+            wasNull = true;
+            return null;
+        }
+        wasNull = false;
+        try {
+            return current.getObject(i);
+        } catch (RuntimeException e) {
+            throw CqlFutures.toSqlException(e);
+        }
+    }
+
+    @Override
+    <T> T convert(int columnIndex, Object value, Class<T> type) throws SQLException {
+        try {
+            return currentRow().get(index(columnIndex), type);
+        } catch (RuntimeException e) {
+            throw conversionError(columnIndex, value, type.getName());
+        }
+    }
+
+    // Numeric and boolean columns are read with the driver's primitive accessors, which decode without
+    // boxing; other column types go through value() and the conversions in ForwardOnlyResultSet.
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        Row current = currentRow();
+        int i = index(columnIndex);
+        if (types[i] != CqlTypes.BOOLEAN) {
+            return super.getBoolean(columnIndex);
+        }
+        wasNull = current.isNull(i);
+        return current.getBoolean(i);
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        Row current = currentRow();
+        int i = index(columnIndex);
+        if (!isIntegral(types[i])) {
+            return super.getByte(columnIndex);
+        }
+        return (byte) integral(current, i);
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        Row current = currentRow();
+        int i = index(columnIndex);
+        if (!isIntegral(types[i])) {
+            return super.getShort(columnIndex);
+        }
+        return (short) integral(current, i);
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        Row current = currentRow();
+        int i = index(columnIndex);
+        if (!isIntegral(types[i])) {
+            return super.getInt(columnIndex);
+        }
+        return (int) integral(current, i);
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        Row current = currentRow();
+        int i = index(columnIndex);
+        if (!isIntegral(types[i])) {
+            return super.getLong(columnIndex);
+        }
+        return integral(current, i);
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        Row current = currentRow();
+        int i = index(columnIndex);
+        if (types[i] == CqlTypes.FLOAT) {
+            wasNull = current.isNull(i);
+            return current.getFloat(i);
+        }
+        if (types[i] == CqlTypes.DOUBLE) {
+            wasNull = current.isNull(i);
+            return (float) current.getDouble(i);
+        }
+        if (!isIntegral(types[i])) {
+            return super.getFloat(columnIndex);
+        }
+        return integral(current, i);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        Row current = currentRow();
+        int i = index(columnIndex);
+        if (types[i] == CqlTypes.DOUBLE) {
+            wasNull = current.isNull(i);
+            return current.getDouble(i);
+        }
+        if (types[i] == CqlTypes.FLOAT) {
+            wasNull = current.isNull(i);
+            return current.getFloat(i);
+        }
+        if (!isIntegral(types[i])) {
+            return super.getDouble(columnIndex);
+        }
+        return integral(current, i);
+    }
+
+    private static boolean isIntegral(int type) {
+        switch (type) {
+            case CqlTypes.BIGINT:
+            case CqlTypes.COUNTER:
+            case CqlTypes.INT:
+            case CqlTypes.SMALLINT:
+            case CqlTypes.TINYINT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // the driver's primitive accessors return 0 for null
+    private long integral(Row current, int i) {
+        wasNull = current.isNull(i);
+        switch (types[i]) {
+            case CqlTypes.INT:
+                return current.getInt(i);
+            case CqlTypes.SMALLINT:
+                return current.getShort(i);
+            case CqlTypes.TINYINT:
+                return current.getByte(i);
+            default:
+                return current.getLong(i);
+        }
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        checkOpen();
+        if (labels == null) {
+            labels = labels(columns);
+        }
+        Integer index = labels.get(columnLabel);
+        if (index == null) {
+            index = labels.get(columnLabel.toLowerCase(Locale.ROOT));
+        }
+        if (index == null) {
+            throw new SQLException("No column named " + columnLabel);
+        }
+        return index;
+    }
+
+    // the first column with a label wins, as in ColumnDefinitions.firstIndexOf
+    private static Map<String, Integer> labels(ColumnDefinitions columns) {
+        Map<String, Integer> labels = new HashMap<>(columns.size() * 4);
+        for (int i = 0; i < columns.size(); i++) {
+            String name = columns.get(i).getName().asInternal();
+            labels.putIfAbsent(name, i + 1);
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            String name = columns.get(i).getName().asInternal();
+            labels.putIfAbsent(name.toLowerCase(Locale.ROOT), i + 1);
+        }
+        return labels;
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        checkOpen();
+        return new CassandraMfaResultSetMetaData(columns);
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        checkOpen();
+        return rowNumber == 0 && !afterLast && rows.hasNext();
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        checkOpen();
+        return afterLast && rowNumber > 0;
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        checkOpen();
+        return row != null && rowNumber == 1;
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        checkOpen();
+        return row != null
+                && ((maxRows > 0 && rowNumber >= maxRows) || (!rows.hasNext() && !pages.hasMorePages()));
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        checkOpen();
+        return row == null ? 0 : rowNumber;
+    }
+
+    @Override
+    public int getFetchSize() {
+        return statement.getFetchSize();
+    }
+
+    @Override
+    public Statement getStatement() {
+        return statement;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isAssignableFrom(Row.class)) {
+            return iface.cast(currentRow());
+        }
+        throw new SQLFeatureNotSupportedException("unwrap not supported for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isAssignableFrom(Row.class);
+    }
+
+}
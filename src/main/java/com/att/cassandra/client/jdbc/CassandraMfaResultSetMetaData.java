@@ -0,0 +1,142 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+public class CassandraMfaResultSetMetaData implements ResultSetMetaData {
+
+    private final ColumnDefinitions columns;
+
+    public CassandraMfaResultSetMetaData(ColumnDefinitions columns) {
+        this.columns = columns;
+    }
+
+    private ColumnDefinition column(int column) throws SQLException {
+        if (column < 1 || column > columns.size()) {
+            throw new SQLException("Column index out of range: " + column);
+        }
+        return columns.get(column - 1);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) {
+        return false;
+    }
+
+    @Override
+    public boolean isCaseSensitive(int column) throws SQLException {
+        return getColumnType(column) == java.sql.Types.VARCHAR;
+    }
+
+    @Override
+    public boolean isSearchable(int column) {
+        return true;
+    }
+
+    @Override
+    public boolean isCurrency(int column) {
+        return false;
+    }
+
+    @Override
+    public int isNullable(int column) {
+        return columnNullableUnknown;
+    }
+
+    @Override
+    public boolean isSigned(int column) throws SQLException {
+        return CqlTypes.isSigned(column(column).getType());
+    }
+
+    @Override
+    public int getColumnDisplaySize(int column) {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String getColumnLabel(int column) throws SQLException {
+        return getColumnName(column);
+    }
+
+    @Override
+    public String getColumnName(int column) throws SQLException {
+        return column(column).getName().asInternal();
+    }
+
+    @Override
+    public String getSchemaName(int column) throws SQLException {
+        return column(column).getKeyspace().asInternal();
+    }
+
+    @Override
+    public int getPrecision(int column) {
+        return 0;
+    }
+
+    @Override
+    public int getScale(int column) {
+        return 0;
+    }
+
+    @Override
+    public String getTableName(int column) throws SQLException {
+        return column(column).getTable().asInternal();
+    }
+
+    @Override
+    public String getCatalogName(int column) {
+        return "";
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+        return CqlTypes.sqlType(column(column).getType());
+    }
+
+    @Override
+    public String getColumnTypeName(int column) throws SQLException {
+        return column(column).getType().asCql(false, true);
+    }
+
+    @Override
+    public boolean isReadOnly(int column) {
+        return true;
+    }
+
+    @Override
+    public boolean isWritable(int column) {
+        return false;
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int column) {
+        return false;
+    }
+
+    @Override
+    public String getColumnClassName(int column) throws SQLException {
+        return CqlTypes.javaClassName(column(column).getType());
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isAssignableFrom(ColumnDefinitions.class)) {
+            return iface.cast(columns);
+        }
+        throw new SQLFeatureNotSupportedException("unwrap not supported for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isAssignableFrom(ColumnDefinitions.class);
+    }
+}
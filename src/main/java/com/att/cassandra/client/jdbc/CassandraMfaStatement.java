@@ -0,0 +1,491 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs CQL through the connection's {@link CqlSession}. Results are paged from the server as the
+ * caller iterates, never materialized up front.
+ *
+ * Fetch size becomes the driver page size, max rows is pushed into the query as a {@code LIMIT}
+ * (and enforced client side as well), and the query timeout becomes the per-request timeout.
+ * Batches are handed to the connection's {@link BatchExecutor}.
+ */
+public class CassandraMfaStatement implements Statement {
+
+    private static final Logger log = LoggerFactory.getLogger(CassandraMfaStatement.class);
+
+    private static final Pattern SELECT = Pattern.compile("^\\s*SELECT\\b", Pattern.CASE_INSENSITIVE);
+    // the trailing LIMIT / ALLOW FILTERING clauses, which must come last in that order
+    private static final Pattern TAIL = Pattern.compile(
+            "(?:\\bLIMIT\\s+(\\d+|\\?|:\\w+)\\s*)?(\\bALLOW\\s+FILTERING\\s*)?;?\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PER_PARTITION = Pattern.compile("\\bPER\\s+PARTITION\\s+$", Pattern.CASE_INSENSITIVE);
+    private static final String APPLIED = "[applied]";
+
+    protected final CassandraMfaConnection connection;
+    protected final CqlSession session;
+
+    private int fetchSize;
+    private int maxRows;
+    private int queryTimeout;
+    private int prefetchPages;
+    private boolean poolable;
+    private boolean closeOnCompletion;
+    private volatile boolean closed = false;
+
+    private CassandraMfaResultSet resultSet;
+    private long updateCount = -1;
+    private final List<BatchableStatement<?>> batch = new ArrayList<>();
+
+    public CassandraMfaStatement(CassandraMfaConnection connection) {
+        this.connection = connection;
+        this.session = connection.getSession();
+        this.prefetchPages = connection.getPrefetchPages();
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        if (!execute(sql)) {
+            throw new SQLException("Statement did not return a result set");
+        }
+        return resultSet;
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        return (int) executeLargeUpdate(sql);
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        execute(sql);
+        return updateCountOf();
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        checkOpen();
+        String cql = applyMaxRows(sql, maxRows);
+        log.trace("Executing CQL: {}", cql);
+        return handleResult(connection.await(session.executeAsync(configure(SimpleStatement.newInstance(cql)))));
+    }
+
+    /**
+     * Applies this statement's fetch size and timeout, and the connection's execution profile, to a driver statement.
+     */
+    <S extends com.datastax.oss.driver.api.core.cql.Statement<S>> S configure(S statement) {
+        if (fetchSize > 0) {
+            statement = statement.setPageSize(fetchSize);
+        }
+        Duration timeout = connection.requestTimeout(queryTimeout);
+        if (timeout != null) {
+            statement = statement.setTimeout(timeout);
+        }
+        return ExecutionProfiles.markIdempotent(statement.setExecutionProfile(connection.getExecutionProfile()));
+    }
+
+    /**
+     * The CQL text of a simple or bound statement, or null for anything else (e.g. a batch).
+     */
+    static String cqlOf(com.datastax.oss.driver.api.core.cql.Statement<?> statement) {
+        if (statement instanceof SimpleStatement) {
+            return ((SimpleStatement) statement).getQuery();
+        }
+        if (statement instanceof BoundStatement) {
+            return ((BoundStatement) statement).getPreparedStatement().getQuery();
+        }
+        return null;
+    }
+
+    static boolean isSelect(String cql) {
+        return SELECT.matcher(cql).lookingAt();
+    }
+
+    /**
+     * Exposes the first page of a result as this statement's current result. Returns true when it has rows
+     * to read, false when it is an update.
+     */
+    boolean handleResult(AsyncResultSet result) throws SQLException {
+        closeResultSet();
+        if (result.getColumnDefinitions().size() == 0) {
+            updateCount = 0;
+            return false;
+        }
+        updateCount = -1;
+        resultSet = new CassandraMfaResultSet(this, result, maxRows, prefetchPages);
+        return true;
+    }
+
+    // Cassandra doesn't report affected rows; a conditional update counts as one row when it was applied
+    long updateCountOf() throws SQLException {
+        if (resultSet == null) {
+            return updateCount;
+        }
+        if (resultSet.getColumnDefinitions().contains(APPLIED)) {
+            long applied = resultSet.wasApplied() ? 1 : 0;
+            closeResultSet();
+            updateCount = applied;
+            return applied;
+        }
+        closeResultSet();
+        throw new SQLException("Statement returned a result set; use executeQuery");
+    }
+
+    /**
+     * Pushes {@code maxRows} into a SELECT as a LIMIT, or lowers an existing literal LIMIT that is larger.
+     * Anything else is returned unchanged.
+     */
+    static String applyMaxRows(String cql, int maxRows) {
+        if (maxRows <= 0 || !isSelect(cql)) {
+            return cql;
+        }
+        Matcher tail = TAIL.matcher(cql);
+        if (!tail.find()) {
+            return cql;
+        }
+        String limit = tail.group(1);
+        if (limit != null && !PER_PARTITION.matcher(cql.substring(0, tail.start())).find()) {
+            if (limit.chars().allMatch(Character::isDigit) && Long.parseLong(limit) > maxRows) {
+                return cql.substring(0, tail.start(1)) + maxRows + cql.substring(tail.end(1));
+            }
+            // already limited, or bound at execution time; the result set still stops at maxRows
+            return cql;
+        }
+        int end = tail.group(2) != null ? tail.start(2) : contentEnd(cql);
+        return cql.substring(0, end).stripTrailing() + " LIMIT " + maxRows
+                + (tail.group(2) != null ? " " : "") + cql.substring(end);
+    }
+
+    private static int contentEnd(String cql) {
+        int end = cql.length();
+        while (end > 0 && (Character.isWhitespace(cql.charAt(end - 1)) || cql.charAt(end - 1) == ';')) {
+            end--;
+        }
+        return end;
+    }
+
+    void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Statement is closed");
+        }
+        if (connection.isClosed()) {
+            throw new SQLException("Connection is closed");
+        }
+    }
+
+    private void closeResultSet() {
+        CassandraMfaResultSet current = resultSet;
+        resultSet = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    // Called by CassandraMfaResultSet.close()
+    void resultSetClosed(CassandraMfaResultSet closedResultSet) {
+        if (resultSet == closedResultSet) {
+            resultSet = null;
+            if (closeOnCompletion) {
+                close();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            closeResultSet();
+            batch.clear();
+            log.trace("CassandraMfaStatement closed");
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public int getMaxFieldSize() {
+        return 0;
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) {
+        // no-op
+    }
+
+    @Override
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        if (max < 0) {
+            throw new SQLException("maxRows must be >= 0 but was " + max);
+        }
+        this.maxRows = max;
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) {
+        // CQL has no JDBC escapes; ignore
+    }
+
+    @Override
+    public int getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        if (seconds < 0) {
+            throw new SQLException("queryTimeout must be >= 0 but was " + seconds);
+        }
+        this.queryTimeout = seconds;
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        throw new SQLFeatureNotSupportedException("cancel not supported");
+    }
+
+    @Override
+    public SQLWarning getWarnings() {
+        return null;
+    }
+
+    @Override
+    public void clearWarnings() { }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        throw new SQLFeatureNotSupportedException("setCursorName not supported");
+    }
+
+    @Override
+    public ResultSet getResultSet() {
+        return resultSet;
+    }
+
+    @Override
+    public int getUpdateCount() {
+        return (int) updateCount;
+    }
+
+    @Override
+    public long getLargeUpdateCount() {
+        return updateCount;
+    }
+
+    @Override
+    public boolean getMoreResults() {
+        closeResultSet();
+        updateCount = -1;
+        return false;
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        if (direction != ResultSet.FETCH_FORWARD) {
+            throw new SQLFeatureNotSupportedException("Only FETCH_FORWARD is supported");
+        }
+    }
+
+    @Override
+    public int getFetchDirection() {
+        return ResultSet.FETCH_FORWARD;
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        if (rows < 0) {
+            throw new SQLException("fetchSize must be >= 0 but was " + rows);
+        }
+        this.fetchSize = rows;
+    }
+
+    @Override
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * How many result pages are fetched in the background ahead of the one being read; 0 fetches on demand.
+     */
+    public int getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    public void setPrefetchPages(int prefetchPages) throws SQLException {
+        if (prefetchPages < 0) {
+            throw new SQLException("prefetchPages must be >= 0 but was " + prefetchPages);
+        }
+        this.prefetchPages = prefetchPages;
+    }
+
+    @Override
+    public int getResultSetConcurrency() {
+        return ResultSet.CONCUR_READ_ONLY;
+    }
+
+    @Override
+    public int getResultSetType() {
+        return ResultSet.TYPE_FORWARD_ONLY;
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        checkOpen();
+        addToBatch(SimpleStatement.newInstance(sql));
+    }
+
+    void addToBatch(BatchableStatement<?> statement) {
+        batch.add(statement);
+    }
+
+    @Override
+    public void clearBatch() {
+        batch.clear();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        checkOpen();
+        closeResultSet();
+        updateCount = -1;
+        if (batch.isEmpty()) {
+            return new int[0];
+        }
+        List<BatchableStatement<?>> statements = new ArrayList<>(batch);
+        batch.clear();
+        try {
+            return connection.getBatchExecutor().execute(statements, this);
+        } catch (SQLException e) {
+            throw connection.checkFatal(e);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        int[] counts = executeBatch();
+        long[] large = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            large[i] = counts[i];
+        }
+        return large;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public boolean getMoreResults(int current) {
+        return getMoreResults();
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Generated keys not supported");
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        requireNoGeneratedKeys(autoGeneratedKeys);
+        return executeUpdate(sql);
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Generated keys not supported");
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Generated keys not supported");
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        requireNoGeneratedKeys(autoGeneratedKeys);
+        return execute(sql);
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Generated keys not supported");
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Generated keys not supported");
+    }
+
+    private static void requireNoGeneratedKeys(int autoGeneratedKeys) throws SQLException {
+        if (autoGeneratedKeys != Statement.NO_GENERATED_KEYS) {
+            throw new SQLFeatureNotSupportedException("Generated keys not supported");
+        }
+    }
+
+    @Override
+    public int getResultSetHoldability() {
+        return ResultSet.CLOSE_CURSORS_AT_COMMIT;
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) {
+        this.poolable = poolable;
+    }
+
+    @Override
+    public boolean isPoolable() {
+        return poolable;
+    }
+
+    @Override
+    public void closeOnCompletion() {
+        this.closeOnCompletion = true;
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() {
+        return closeOnCompletion;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        if (iface.isAssignableFrom(CqlSession.class)) {
+            return iface.cast(session);
+        }
+        throw new SQLFeatureNotSupportedException("unwrap not supported for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this) || iface.isAssignableFrom(CqlSession.class);
+    }
+}
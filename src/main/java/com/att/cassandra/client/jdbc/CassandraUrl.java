@@ -1,17 +1,36 @@
 package com.att.cassandra.client.jdbc;
 
+import com.att.cassandra.client.AuthProviderOptions;
+import com.att.cassandra.client.TokenProviderOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 public final class CassandraUrl {
 
     private static final Logger log = LoggerFactory.getLogger(CassandraUrl.class);
 
+    static final int DEFAULT_PORT = 9042;
+
+    public static final String LOGIN_TIMEOUT = "loginTimeout";
+
+    // unresolved, in URL order; resolved when a session is built, see ContactPoints
+    public final List<InetSocketAddress> contactPoints;
+    // the first contact point
     public final String host;
     public final int port;
     public final String localDc;
@@ -24,18 +43,38 @@ public final class CassandraUrl {
     public final String truststore;
     public final String truststorePassword;
 
-    private CassandraUrl(String host,
-                         int port,
+    public final TokenProviderOptions tokenOptions;
+    public final AuthProviderOptions authOptions;
+    public final int preparedStatementCacheSize;
+    public final int prefetchPages;
+    public final int batchMaxStatements;
+    public final int batchMaxBytes;
+    public final int batchConcurrency;
+    public final long validationCacheMillis;
+    // 0 leaves the driver's connect and init query timeouts
+    public final int loginTimeoutSeconds;
+
+    private CassandraUrl(List<InetSocketAddress> contactPoints,
                          String localDc,
                          String tenantId,
                          String clientId,
                          String clientSecret,
                          String scope,
                          String truststore,
-                         String truststorePassword) {
+                         String truststorePassword,
+                         TokenProviderOptions tokenOptions,
+                         AuthProviderOptions authOptions,
+                         int preparedStatementCacheSize,
+                         int prefetchPages,
+                         int batchMaxStatements,
+                         int batchMaxBytes,
+                         int batchConcurrency,
+                         long validationCacheMillis,
+                         int loginTimeoutSeconds) {
 
-        this.host = host;
-        this.port = port;
+        this.contactPoints = List.copyOf(contactPoints);
+        this.host = contactPoints.get(0).getHostString();
+        this.port = contactPoints.get(0).getPort();
         this.localDc = localDc;
         this.tenantId = tenantId;
         this.clientId = clientId;
@@ -43,8 +82,17 @@ public final class CassandraUrl {
         this.scope = scope;
         this.truststore = truststore;
         this.truststorePassword = truststorePassword;
+        this.tokenOptions = tokenOptions;
+        this.authOptions = authOptions;
+        this.preparedStatementCacheSize = preparedStatementCacheSize;
+        this.prefetchPages = prefetchPages;
+        this.batchMaxStatements = batchMaxStatements;
+        this.batchMaxBytes = batchMaxBytes;
+        this.batchConcurrency = batchConcurrency;
+        this.validationCacheMillis = validationCacheMillis;
+        this.loginTimeoutSeconds = loginTimeoutSeconds;
 
-        log.debug("CassandraUrl created - host: {}, port: {}, dc: {}, tenant: {}", host, port, localDc, tenantId);
+        log.debug("CassandraUrl created - contact points: {}, dc: {}, tenant: {}", contactPointList(), localDc, tenantId);
     }
 
     /**
@@ -53,6 +101,20 @@ public final class CassandraUrl {
      * jdbc:cassandra-mfa://localhost:9042/DC1
      *   ?tenantId=...&clientId=...&clientSecret=...&scope=...&
      *    truststore=/path/to/truststore.jks&truststorePassword=changeit
+     *
+     * Several contact points may be given, comma-separated, each with an optional port (default 9042);
+     * IPv6 literals go in brackets when a port follows: jdbc:cassandra-mfa://node1,node2:9142,[2001:db8::7]:9042/DC1
+     *
+     * Optional token tuning: tokenRefreshLeadSeconds (0 disables background refresh),
+     * tokenRefreshAtPercent, tokenRefreshJitterPercent, tokenServeStale, tokenExpiryGraceSeconds, tokenCacheDir.
+     * Optional handshake limits: maxConcurrentHandshakes, maxHandshakesPerNode, maxQueuedHandshakes.
+     * Optional preparedStatementCacheSize (default 1000), per shared session, and prefetchPages
+     * (default 1; 0 fetches each result page only when it is needed).
+     * Optional batch limits: batchMaxStatements (default 100) and batchMaxBytes (default 5120) per
+     * single-partition batch, batchConcurrency (default 32) batches in flight.
+     * Optional validationCacheMillis (default 1000; 0 checks every time): how long an isValid() answer is reused.
+     * Optional loginTimeout, in seconds: bounds connecting to and authenticating with each node while the
+     * session is built (default 0, the driver's own timeouts).
      */
     public static CassandraUrl parse(String url, Properties info) throws SQLException {
         log.debug("Parsing JDBC URL");
@@ -62,14 +124,14 @@ public final class CassandraUrl {
             throw new SQLException("Invalid URL for CassandraMfaDriver: " + url);
         }
 
-        String rest = url.substring("jdbc:cassandra-mfa://".length()); // host:port/DC1?...
+        String rest = url.substring("jdbc:cassandra-mfa://".length()); // host:port,host:port/DC1?...
         String hostPortPart;
         String dcPart = null;
         String queryPart = null;
 
         int slashIdx = rest.indexOf('/');
         if (slashIdx >= 0) {
-            hostPortPart = rest.substring(0, slashIdx);  // host:port
+            hostPortPart = rest.substring(0, slashIdx);  // host:port,host:port
             int qIdx = rest.indexOf('?', slashIdx);
             if (qIdx >= 0) {
                 dcPart = rest.substring(slashIdx + 1, qIdx);
@@ -81,23 +143,8 @@ public final class CassandraUrl {
             hostPortPart = rest;
         }
 
-        String host;
-        int port = 9042;
-        int colonIdx = hostPortPart.indexOf(':');
-        if (colonIdx >= 0) {
-            host = hostPortPart.substring(0, colonIdx);
-            String portStr = hostPortPart.substring(colonIdx + 1);
-            try {
-                port = Integer.parseInt(portStr);
-            } catch (NumberFormatException e) {
-                log.error("Invalid port number: {}", portStr);
-                throw new SQLException("Invalid port in Cassandra URL: " + portStr, e);
-            }
-        } else {
-            host = hostPortPart;
-        }
-
-        log.trace("Parsed host: {}, port: {}", host, port);
+        List<InetSocketAddress> contactPoints = parseContactPoints(hostPortPart);
+        log.trace("Parsed contact points: {}", contactPoints);
 
         Map<String, String> params = parseQuery(queryPart);
         // Fallbacks to Properties if not present in URL
@@ -127,19 +174,217 @@ public final class CassandraUrl {
             throw new SQLException("Missing truststore or truststorePassword in URL or properties");
         }
 
-        log.info("JDBC URL parsed successfully - connecting to {}:{} in datacenter '{}'", host, port, localDc);
+        TokenProviderOptions tokenOptions = new TokenProviderOptions();
+        Long refreshLeadSeconds = getLong(params, info, "tokenRefreshLeadSeconds");
+        if (refreshLeadSeconds != null) {
+            tokenOptions.setRefreshLeadTime(refreshLeadSeconds > 0 ? Duration.ofSeconds(refreshLeadSeconds) : null);
+        }
+        Long refreshAtPercent = getLong(params, info, "tokenRefreshAtPercent");
+        if (refreshAtPercent != null) {
+            if (refreshAtPercent < 1 || refreshAtPercent > 99) {
+                throw new SQLException("tokenRefreshAtPercent must be between 1 and 99 but was " + refreshAtPercent);
+            }
+            tokenOptions.setRefreshAtLifetimeFraction(refreshAtPercent / 100.0);
+        }
+        Long refreshJitterPercent = getLong(params, info, "tokenRefreshJitterPercent");
+        if (refreshJitterPercent != null) {
+            if (refreshJitterPercent < 0 || refreshJitterPercent > 99) {
+                throw new SQLException("tokenRefreshJitterPercent must be between 0 and 99 but was " + refreshJitterPercent);
+            }
+            tokenOptions.setRefreshJitterFraction(refreshJitterPercent / 100.0);
+        }
+        String serveStale = get(params, info, "tokenServeStale");
+        if (serveStale != null) {
+            tokenOptions.setStaleWhileRevalidate(Boolean.parseBoolean(serveStale.trim()));
+        }
+        Long expiryGraceSeconds = getLong(params, info, "tokenExpiryGraceSeconds");
+        if (expiryGraceSeconds != null) {
+            if (expiryGraceSeconds < 0) {
+                throw new SQLException("tokenExpiryGraceSeconds must be >= 0 but was " + expiryGraceSeconds);
+            }
+            tokenOptions.setHardExpiryGrace(Duration.ofSeconds(expiryGraceSeconds));
+        }
+        tokenOptions.setPersistentCacheDir(get(params, info, "tokenCacheDir"));
+        try {
+            // e.g. a lead time too short for the expiry margin, unless tokenRefreshAtPercent overrides it
+            tokenOptions.validate();
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Invalid token refresh options in Cassandra URL: " + e.getMessage(), e);
+        }
+
+        AuthProviderOptions authOptions = new AuthProviderOptions();
+        authOptions.setMaxConcurrentHandshakes(getPositiveInt(params, info, "maxConcurrentHandshakes",
+                authOptions.getMaxConcurrentHandshakes()));
+        authOptions.setMaxConcurrentHandshakesPerNode(getPositiveInt(params, info, "maxHandshakesPerNode",
+                authOptions.getMaxConcurrentHandshakesPerNode()));
+        authOptions.setMaxQueuedHandshakes(getPositiveInt(params, info, "maxQueuedHandshakes",
+                authOptions.getMaxQueuedHandshakes()));
+
+        Long cacheSize = getLong(params, info, "preparedStatementCacheSize");
+        int preparedStatementCacheSize = cacheSize != null ? cacheSize.intValue() : PreparedStatementCache.DEFAULT_MAX_SIZE;
+        if (preparedStatementCacheSize < 1) {
+            throw new SQLException("preparedStatementCacheSize must be at least 1 but was " + cacheSize);
+        }
+
+        Long prefetch = getLong(params, info, "prefetchPages");
+        int prefetchPages = prefetch != null ? prefetch.intValue() : PagePrefetcher.DEFAULT_DEPTH;
+        if (prefetchPages < 0) {
+            throw new SQLException("prefetchPages must be >= 0 but was " + prefetch);
+        }
 
-        return new CassandraUrl(
-                host,
-                port,
+        int batchMaxStatements = getPositiveInt(params, info, "batchMaxStatements", BatchExecutor.DEFAULT_MAX_STATEMENTS);
+        int batchMaxBytes = getPositiveInt(params, info, "batchMaxBytes", BatchExecutor.DEFAULT_MAX_BYTES);
+        int batchConcurrency = getPositiveInt(params, info, "batchConcurrency", BatchExecutor.DEFAULT_CONCURRENCY);
+
+        Long validationCache = getLong(params, info, "validationCacheMillis");
+        long validationCacheMillis = validationCache != null ? validationCache : SessionValidator.DEFAULT_CACHE_MILLIS;
+        if (validationCacheMillis < 0) {
+            throw new SQLException("validationCacheMillis must be >= 0 but was " + validationCache);
+        }
+
+        Long loginTimeout = getLong(params, info, LOGIN_TIMEOUT);
+        int loginTimeoutSeconds = loginTimeout != null ? loginTimeout.intValue() : 0;
+        if (loginTimeoutSeconds < 0) {
+            throw new SQLException("loginTimeout must be >= 0 but was " + loginTimeout);
+        }
+
+        CassandraUrl parsed = new CassandraUrl(
+                contactPoints,
                 localDc,
                 tenantId,
                 clientId,
                 clientSecret,
                 scope,
                 truststore,
-                truststorePassword
+                truststorePassword,
+                tokenOptions,
+                authOptions,
+                preparedStatementCacheSize,
+                prefetchPages,
+                batchMaxStatements,
+                batchMaxBytes,
+                batchConcurrency,
+                validationCacheMillis,
+                loginTimeoutSeconds
         );
+        log.info("JDBC URL parsed successfully - connecting to {} in datacenter '{}'", parsed.contactPointList(), localDc);
+        return parsed;
+    }
+
+    private static List<InetSocketAddress> parseContactPoints(String hostPortPart) throws SQLException {
+        List<InetSocketAddress> contactPoints = new ArrayList<>();
+        for (String entry : hostPortPart.split(",")) {
+            entry = entry.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            String host = entry;
+            String portStr = null;
+            if (entry.startsWith("[")) {
+                // [IPv6]:port or [IPv6]
+                int close = entry.indexOf(']');
+                if (close < 0) {
+                    throw new SQLException("Unterminated IPv6 address in Cassandra URL: " + entry);
+                }
+                host = entry.substring(1, close);
+                String after = entry.substring(close + 1);
+                if (after.startsWith(":")) {
+                    portStr = after.substring(1);
+                } else if (!after.isEmpty()) {
+                    throw new SQLException("Invalid contact point in Cassandra URL: " + entry);
+                }
+            } else if (entry.indexOf(':') >= 0 && entry.indexOf(':') == entry.lastIndexOf(':')) {
+                // host:port; an unbracketed IPv6 literal has several colons and no port
+                host = entry.substring(0, entry.indexOf(':'));
+                portStr = entry.substring(entry.indexOf(':') + 1);
+            }
+
+            int port = DEFAULT_PORT;
+            if (portStr != null) {
+                try {
+                    port = Integer.parseInt(portStr);
+                } catch (NumberFormatException e) {
+                    log.error("Invalid port number: {}", portStr);
+                    throw new SQLException("Invalid port in Cassandra URL: " + portStr, e);
+                }
+                if (port < 1 || port > 65535) {
+                    throw new SQLException("Invalid port in Cassandra URL: " + portStr);
+                }
+            }
+            if (host.isEmpty()) {
+                throw new SQLException("Missing host in Cassandra URL contact point: " + entry);
+            }
+            contactPoints.add(InetSocketAddress.createUnresolved(host, port));
+        }
+        if (contactPoints.isEmpty()) {
+            throw new SQLException("No contact points in Cassandra URL");
+        }
+        return contactPoints;
+    }
+
+    /**
+     * The contact points as written in a URL, e.g. {@code node1:9042,[2001:db8::7]:9042}.
+     */
+    public String contactPointList() {
+        return contactPoints.stream().map(CassandraUrl::format).collect(Collectors.joining(","));
+    }
+
+    private static String format(InetSocketAddress contactPoint) {
+        String host = contactPoint.getHostString();
+        return (host.indexOf(':') >= 0 ? '[' + host + ']' : host) + ':' + contactPoint.getPort();
+    }
+
+    /**
+     * Canonical form of everything that determines which cluster we talk to, as whom and with which
+     * options; secrets are replaced by their SHA-256. Used to share one session between connections
+     * opened with equivalent URLs. The tuning options are part of it because they are fixed when the
+     * session is built, so a connection asking for different ones gets a session of its own.
+     */
+    public String normalized() {
+        // the same cluster whatever order the contact points are listed in
+        String hosts = contactPoints.stream()
+                .map(contactPoint -> format(contactPoint).toLowerCase(Locale.ROOT))
+                .sorted()
+                .collect(Collectors.joining(","));
+        return hosts
+                + '/' + localDc
+                + "?tenantId=" + tenantId
+                + "&clientId=" + clientId
+                + "&clientSecret=" + fingerprint(clientSecret)
+                + "&scope=" + scope
+                + "&truststore=" + truststore
+                + "&truststorePassword=" + fingerprint(truststorePassword)
+                + tuning();
+    }
+
+    private String tuning() {
+        return "&tokenRefreshLead=" + tokenOptions.getRefreshLeadTime()
+                + "&tokenRefreshAt=" + tokenOptions.getRefreshAtLifetimeFraction()
+                + "&tokenRefreshJitter=" + tokenOptions.getRefreshJitterFraction()
+                + "&tokenServeStale=" + tokenOptions.isStaleWhileRevalidate()
+                + "&tokenExpiryGrace=" + tokenOptions.getHardExpiryGrace()
+                + "&tokenCircuit=" + tokenOptions.getCircuitFailureThreshold() + '/' + tokenOptions.getCircuitOpenDuration()
+                + "&tokenCacheDir=" + tokenOptions.getPersistentCacheDir()
+                + "&maxConcurrentHandshakes=" + authOptions.getMaxConcurrentHandshakes()
+                + "&maxHandshakesPerNode=" + authOptions.getMaxConcurrentHandshakesPerNode()
+                + "&maxQueuedHandshakes=" + authOptions.getMaxQueuedHandshakes()
+                + "&handshakeTimeout=" + authOptions.getHandshakeTimeout()
+                + "&preparedStatementCacheSize=" + preparedStatementCacheSize
+                + "&prefetchPages=" + prefetchPages
+                + "&batchMaxStatements=" + batchMaxStatements
+                + "&batchMaxBytes=" + batchMaxBytes
+                + "&batchConcurrency=" + batchConcurrency
+                + "&validationCacheMillis=" + validationCacheMillis
+                + "&" + LOGIN_TIMEOUT + '=' + loginTimeoutSeconds;
+    }
+
+    private static String fingerprint(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     private static Map<String, String> parseQuery(String query) {
@@ -167,4 +412,29 @@ public final class CassandraUrl {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    private static int getPositiveInt(Map<String, String> params, Properties info, String key, int defaultValue)
+            throws SQLException {
+        Long value = getLong(params, info, key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value < 1 || value > Integer.MAX_VALUE) {
+            throw new SQLException(key + " must be a positive integer but was " + value);
+        }
+        return value.intValue();
+    }
+
+    private static Long getLong(Map<String, String> params, Properties info, String key) throws SQLException {
+        String value = get(params, info, key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.error("Invalid numeric value for {}: {}", key, value);
+            throw new SQLException("Invalid value for " + key + " in Cassandra URL: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.att.cassandra.client.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves a URL's contact points before a session is built. Host names are looked up in parallel
+ * and every address a name resolves to becomes a contact point, so the driver can bootstrap from any
+ * node that answers. Names that don't resolve are skipped; only if none resolve does it fail.
+ */
+public final class ContactPoints {
+
+    private static final Logger log = LoggerFactory.getLogger(ContactPoints.class);
+
+    static final Duration RESOLVE_TIMEOUT = Duration.ofSeconds(10);
+    private static final int MAX_RESOLVER_THREADS = 8;
+
+    private ContactPoints() {
+    }
+
+    public static List<InetSocketAddress> resolve(List<InetSocketAddress> contactPoints) throws SQLException {
+        ExecutorService resolvers = Executors.newFixedThreadPool(Math.min(contactPoints.size(), MAX_RESOLVER_THREADS), runnable -> {
+            Thread thread = new Thread(runnable, "cassandra-mfa-resolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<List<InetSocketAddress>>> lookups = new ArrayList<>(contactPoints.size());
+            for (InetSocketAddress contactPoint : contactPoints) {
+                lookups.add(CompletableFuture.supplyAsync(() -> lookup(contactPoint), resolvers));
+            }
+
+            long deadline = System.nanoTime() + RESOLVE_TIMEOUT.toNanos();
+            Set<InetSocketAddress> resolved = new LinkedHashSet<>();
+            for (int i = 0; i < lookups.size(); i++) {
+                try {
+                    long remaining = Math.max(0, deadline - System.nanoTime());
+                    resolved.addAll(lookups.get(i).get(remaining, TimeUnit.NANOSECONDS));
+                } catch (ExecutionException e) {
+                    log.warn("Skipping contact point {}: {}", contactPoints.get(i).getHostString(), e.getCause().toString());
+                } catch (TimeoutException e) {
+                    log.warn("Skipping contact point {}: not resolved within {}", contactPoints.get(i).getHostString(), RESOLVE_TIMEOUT);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while resolving contact points", e);
+                }
+            }
+            if (resolved.isEmpty()) {
+                throw new SQLException("None of the contact points could be resolved: " + contactPoints.stream()
+                        .map(InetSocketAddress::getHostString)
+                        .collect(Collectors.joining(", ")));
+            }
+            log.debug("Resolved {} contact points to {}", contactPoints.size(), resolved);
+            return new ArrayList<>(resolved);
+        } finally {
+            resolvers.shutdownNow();
+        }
+    }
+
+    private static List<InetSocketAddress> lookup(InetSocketAddress contactPoint) {
+        try {
+            List<InetSocketAddress> addresses = new ArrayList<>();
+            for (InetAddress address : InetAddress.getAllByName(contactPoint.getHostString())) {
+                addresses.add(new InetSocketAddress(address, contactPoint.getPort()));
+            }
+            return addresses;
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Unknown host " + contactPoint.getHostString(), e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.AllNodesFailedException;
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import com.datastax.oss.driver.api.core.auth.AuthenticationException;
+import com.datastax.oss.driver.api.core.servererrors.QueryValidationException;
+import com.datastax.oss.driver.api.core.servererrors.ReadTimeoutException;
+import com.datastax.oss.driver.api.core.servererrors.WriteTimeoutException;
+
+import java.sql.SQLException;
+import java.sql.SQLInvalidAuthorizationSpecException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Bridges driver futures and exceptions to the blocking, {@link SQLException}-based JDBC API.
+ */
+final class CqlFutures {
+
+    private CqlFutures() {
+    }
+
+    static <T> T await(CompletionStage<T> stage) throws SQLException {
+        try {
+            return stage.toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            throw toSqlException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for Cassandra", e);
+        }
+    }
+
+    /**
+     * {@code stage}, failing with the {@link SQLException} {@link #await} would throw rather than the
+     * driver's exception.
+     */
+    static <T> CompletionStage<T> translate(CompletionStage<T> stage) {
+        CompletableFuture<T> translated = new CompletableFuture<>();
+        stage.whenComplete((value, error) -> {
+            if (error != null) {
+                translated.completeExceptionally(toSqlException(error));
+            } else {
+                translated.complete(value);
+            }
+        });
+        return translated.minimalCompletionStage();
+    }
+
+    static SQLException toSqlException(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof SQLException) {
+            return (SQLException) error;
+        }
+        if (error instanceof DriverTimeoutException
+                || error instanceof ReadTimeoutException
+                || error instanceof WriteTimeoutException) {
+            return new SQLTimeoutException(error.getMessage(), error);
+        }
+        if (error instanceof QueryValidationException) {
+            return new SQLSyntaxErrorException(error.getMessage(), error);
+        }
+        if (error instanceof AuthenticationException) {
+            return new SQLInvalidAuthorizationSpecException(error.getMessage(), "28000", error);
+        }
+        if (error instanceof AllNodesFailedException) {
+            // no node could be reached, or every one refused us
+            return new SQLTransientConnectionException(error.getMessage(), "08006", error);
+        }
+        return new SQLException(error.getMessage(), error);
+    }
+
+    /**
+     * Whether {@code e} means the connection can't be used any more (SQLState classes 08 and 28), as
+     * opposed to a failure of one statement.
+     */
+    static boolean isFatal(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("08") || state.startsWith("28"));
+    }
+}
@@ -0,0 +1,295 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.type.DataType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+
+/**
+ * Maps CQL types to their JDBC equivalents, by native protocol type code.
+ */
+final class CqlTypes {
+
+    static final int CUSTOM = 0x00;
+    static final int ASCII = 0x01;
+    static final int BIGINT = 0x02;
+    static final int BLOB = 0x03;
+    static final int BOOLEAN = 0x04;
+    static final int COUNTER = 0x05;
+    static final int DECIMAL = 0x06;
+    static final int DOUBLE = 0x07;
+    static final int FLOAT = 0x08;
+    static final int INT = 0x09;
+    static final int TIMESTAMP = 0x0B;
+    static final int UUID = 0x0C;
+    static final int VARCHAR = 0x0D;
+    static final int VARINT = 0x0E;
+    static final int TIMEUUID = 0x0F;
+    static final int INET = 0x10;
+    static final int DATE = 0x11;
+    static final int TIME = 0x12;
+    static final int SMALLINT = 0x13;
+    static final int TINYINT = 0x14;
+    static final int DURATION = 0x15;
+    static final int LIST = 0x20;
+    static final int MAP = 0x21;
+    static final int SET = 0x22;
+    static final int UDT = 0x30;
+    static final int TUPLE = 0x31;
+
+    private CqlTypes() {
+    }
+
+    static int sqlType(DataType type) {
+        return sqlType(type.getProtocolCode());
+    }
+
+    static int sqlType(int protocolCode) {
+        switch (protocolCode) {
+            case ASCII:
+            case VARCHAR:
+                return Types.VARCHAR;
+            case BIGINT:
+            case COUNTER:
+                return Types.BIGINT;
+            case BLOB:
+                return Types.BINARY;
+            case BOOLEAN:
+                return Types.BOOLEAN;
+            case DECIMAL:
+                return Types.DECIMAL;
+            case DOUBLE:
+                return Types.DOUBLE;
+            case FLOAT:
+                return Types.REAL;
+            case INT:
+                return Types.INTEGER;
+            case SMALLINT:
+                return Types.SMALLINT;
+            case TINYINT:
+                return Types.TINYINT;
+            case VARINT:
+                return Types.NUMERIC;
+            case TIMESTAMP:
+                return Types.TIMESTAMP;
+            case DATE:
+                return Types.DATE;
+            case TIME:
+                return Types.TIME;
+            case UUID:
+            case TIMEUUID:
+            case INET:
+                return Types.OTHER;
+            case LIST:
+            case SET:
+                return Types.ARRAY;
+            default:
+                return Types.JAVA_OBJECT;
+        }
+    }
+
+    static String javaClassName(DataType type) {
+        switch (type.getProtocolCode()) {
+            case ASCII:
+            case VARCHAR:
+                return String.class.getName();
+            case BIGINT:
+            case COUNTER:
+                return Long.class.getName();
+            case BLOB:
+                return java.nio.ByteBuffer.class.getName();
+            case BOOLEAN:
+                return Boolean.class.getName();
+            case DECIMAL:
+                return java.math.BigDecimal.class.getName();
+            case DOUBLE:
+                return Double.class.getName();
+            case FLOAT:
+                return Float.class.getName();
+            case INT:
+                return Integer.class.getName();
+            case SMALLINT:
+                return Short.class.getName();
+            case TINYINT:
+                return Byte.class.getName();
+            case VARINT:
+                return java.math.BigInteger.class.getName();
+            case TIMESTAMP:
+                return java.time.Instant.class.getName();
+            case DATE:
+                return java.time.LocalDate.class.getName();
+            case TIME:
+                return java.time.LocalTime.class.getName();
+            case UUID:
+            case TIMEUUID:
+                return java.util.UUID.class.getName();
+            case INET:
+                return java.net.InetAddress.class.getName();
+            case LIST:
+                return java.util.List.class.getName();
+            case SET:
+                return java.util.Set.class.getName();
+            case MAP:
+                return java.util.Map.class.getName();
+            default:
+                return Object.class.getName();
+        }
+    }
+
+    static boolean isSigned(DataType type) {
+        switch (type.getProtocolCode()) {
+            case BIGINT:
+            case COUNTER:
+            case DECIMAL:
+            case DOUBLE:
+            case FLOAT:
+            case INT:
+            case SMALLINT:
+            case TINYINT:
+            case VARINT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Converts a JDBC-style parameter value to the Java type the driver's default codec expects for
+     * {@code type}, e.g. an {@code Integer} bound to a {@code bigint} or a {@link java.sql.Timestamp}
+     * bound to a {@code timestamp}. Values that don't need converting are returned as is. Numbers are
+     * converted exactly: one that doesn't fit the column type, or has a fraction an integral type would
+     * drop, fails with SQLState 22003 rather than being truncated or overflowing to an infinity.
+     */
+    static Object coerce(DataType type, Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        switch (type.getProtocolCode()) {
+            case BIGINT:
+            case COUNTER:
+                return value instanceof Number && !(value instanceof Long) ? exactLong((Number) value, type) : value;
+            case INT:
+                if (value instanceof Number && !(value instanceof Integer)) {
+                    try {
+                        return Math.toIntExact(exactLong((Number) value, type));
+                    } catch (ArithmeticException e) {
+                        throw outOfRange(value, type, e);
+                    }
+                }
+                return value;
+            case SMALLINT:
+                return value instanceof Number && !(value instanceof Short)
+                        ? (short) exactLong((Number) value, Short.MIN_VALUE, Short.MAX_VALUE, type)
+                        : value;
+            case TINYINT:
+                return value instanceof Number && !(value instanceof Byte)
+                        ? (byte) exactLong((Number) value, Byte.MIN_VALUE, Byte.MAX_VALUE, type)
+                        : value;
+            case DOUBLE:
+                if (value instanceof Number && !(value instanceof Double)) {
+                    double narrowed = ((Number) value).doubleValue();
+                    if (Double.isInfinite(narrowed)) {
+                        throw outOfRange(value, type, null);
+                    }
+                    return narrowed;
+                }
+                return value;
+            case FLOAT:
+                if (value instanceof Number && !(value instanceof Float)) {
+                    float narrowed = ((Number) value).floatValue();
+                    // a finite value beyond Float.MAX_VALUE would otherwise become an infinity
+                    if (Float.isInfinite(narrowed) && !(value instanceof Double && ((Double) value).isInfinite())) {
+                        throw outOfRange(value, type, null);
+                    }
+                    return narrowed;
+                }
+                return value;
+            case DECIMAL:
+                return value instanceof Number && !(value instanceof BigDecimal) ? exactDecimal((Number) value, type) : value;
+            case VARINT:
+                if (value instanceof Number && !(value instanceof BigInteger)) {
+                    try {
+                        return exactDecimal((Number) value, type).toBigIntegerExact();
+                    } catch (ArithmeticException e) {
+                        throw outOfRange(value, type, e);
+                    }
+                }
+                return value;
+            case TIMESTAMP:
+                if (value instanceof java.sql.Timestamp) {
+                    return ((java.sql.Timestamp) value).toInstant();
+                }
+                if (value instanceof java.util.Date) {
+                    return Instant.ofEpochMilli(((java.util.Date) value).getTime());
+                }
+                return value instanceof Long ? Instant.ofEpochMilli((Long) value) : value;
+            case DATE:
+                return value instanceof java.sql.Date ? ((java.sql.Date) value).toLocalDate() : value;
+            case TIME:
+                return value instanceof java.sql.Time ? ((java.sql.Time) value).toLocalTime() : value;
+            case BLOB:
+                return value instanceof byte[] ? ByteBuffer.wrap((byte[]) value) : value;
+            case UUID:
+            case TIMEUUID:
+                return value instanceof String ? java.util.UUID.fromString((String) value) : value;
+            case ASCII:
+            case VARCHAR:
+                return value instanceof Character ? value.toString() : value;
+            default:
+                return value;
+        }
+    }
+
+    private static long exactLong(Number value, long min, long max, DataType type) throws SQLException {
+        long exact = exactLong(value, type);
+        if (exact < min || exact > max) {
+            throw outOfRange(value, type, null);
+        }
+        return exact;
+    }
+
+    private static long exactLong(Number value, DataType type) throws SQLException {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return value.longValue();
+        }
+        try {
+            BigDecimal decimal;
+            if (value instanceof BigDecimal) {
+                decimal = (BigDecimal) value;
+            } else if (value instanceof BigInteger) {
+                decimal = new BigDecimal((BigInteger) value);
+            } else if (value instanceof Double || value instanceof Float) {
+                // exact binary value; NaN and infinities throw NumberFormatException
+                decimal = new BigDecimal(value.doubleValue());
+            } else {
+                decimal = new BigDecimal(value.toString());
+            }
+            return decimal.longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw outOfRange(value, type, e);
+        }
+    }
+
+    private static BigDecimal exactDecimal(Number value, DataType type) throws SQLException {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        try {
+            // toString keeps every digit of any Number; NaN and infinities throw NumberFormatException
+            return new BigDecimal(value.toString());
+        } catch (NumberFormatException e) {
+            throw outOfRange(value, type, e);
+        }
+    }
+
+    private static SQLException outOfRange(Object value, DataType type, Throwable cause) {
+        return new SQLException("Value " + value + " is out of range for " + type.asCql(false, true), "22003", cause);
+    }
+}
@@ -0,0 +1,107 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.config.ProgrammaticDriverConfigLoaderBuilder;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Driver execution profiles used by JDBC connections: read-only connections run with {@value #READ},
+ * the others with {@value #WRITE}, unless the {@code ExecutionProfile} client info property names
+ * another profile from the driver configuration.
+ *
+ * Sessions built by {@code CassandraMfaDriver} define both profiles through {@link #configLoader()}.
+ * Speculative executions need a profile defined when the session is built, so for a session that
+ * doesn't define {@value #READ} the read profile is derived from the default one and only changes
+ * the consistency level.
+ *
+ * The driver only speculates on idempotent statements. Neither profile turns on default idempotence,
+ * so a write issued on a read-only connection isn't speculated; statements whose CQL is a SELECT are
+ * marked idempotent one by one through {@link #markIdempotent}.
+ */
+public final class ExecutionProfiles {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionProfiles.class);
+
+    public static final String READ = "jdbc-read";
+    public static final String WRITE = "jdbc-write";
+
+    static final String READ_CONSISTENCY = "LOCAL_ONE";
+    static final String WRITE_CONSISTENCY = "LOCAL_QUORUM";
+
+    // one speculative execution, if the first replica hasn't answered within the delay
+    static final int SPECULATIVE_EXECUTION_MAX = 2;
+    static final Duration SPECULATIVE_EXECUTION_DELAY = Duration.ofMillis(100);
+
+    private ExecutionProfiles() {
+    }
+
+    /**
+     * Driver configuration (on top of the usual application.conf and reference.conf) defining the
+     * {@value #READ} and {@value #WRITE} profiles.
+     */
+    public static DriverConfigLoader configLoader() {
+        return configLoader(null);
+    }
+
+    /**
+     * As {@link #configLoader()}, also bounding how long connecting to a node and each of its
+     * initialization queries (authentication included) may take, unless {@code connectTimeout} is null.
+     */
+    public static DriverConfigLoader configLoader(Duration connectTimeout) {
+        ProgrammaticDriverConfigLoaderBuilder builder = DriverConfigLoader.programmaticBuilder();
+        if (connectTimeout != null) {
+            builder = builder
+                    .withDuration(DefaultDriverOption.CONNECTION_CONNECT_TIMEOUT, connectTimeout)
+                    .withDuration(DefaultDriverOption.CONNECTION_INIT_QUERY_TIMEOUT, connectTimeout);
+        }
+        return builder
+                .startProfile(READ)
+                .withString(DefaultDriverOption.REQUEST_CONSISTENCY, READ_CONSISTENCY)
+                .withString(DefaultDriverOption.SPECULATIVE_EXECUTION_POLICY_CLASS, "ConstantSpeculativeExecutionPolicy")
+                .withInt(DefaultDriverOption.SPECULATIVE_EXECUTION_MAX, SPECULATIVE_EXECUTION_MAX)
+                .withDuration(DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY, SPECULATIVE_EXECUTION_DELAY)
+                .endProfile()
+                .startProfile(WRITE)
+                .withString(DefaultDriverOption.REQUEST_CONSISTENCY, WRITE_CONSISTENCY)
+                .endProfile()
+                .build();
+    }
+
+    /**
+     * Marks {@code statement} idempotent if it is a SELECT, so speculative executions and retries may
+     * resend it. Anything else, batches included, keeps the profile's default.
+     */
+    static <S extends Statement<S>> S markIdempotent(S statement) {
+        String cql = CassandraMfaStatement.cqlOf(statement);
+        return cql != null && CassandraMfaStatement.isSelect(cql) ? statement.setIdempotent(true) : statement;
+    }
+
+    static boolean isDefined(CqlSession session, String name) {
+        return session.getContext().getConfig().getProfiles().containsKey(name);
+    }
+
+    /**
+     * The profile for a connection: {@code name} if given, otherwise {@value #READ} or {@value #WRITE}.
+     */
+    static DriverExecutionProfile resolve(CqlSession session, String name, boolean readOnly) {
+        DriverConfig config = session.getContext().getConfig();
+        if (name != null) {
+            return config.getProfile(name);
+        }
+        String wanted = readOnly ? READ : WRITE;
+        if (config.getProfiles().containsKey(wanted)) {
+            return config.getProfile(wanted);
+        }
+        log.debug("Session defines no '{}' execution profile, deriving one from the default profile", wanted);
+        return config.getDefaultProfile()
+                .withString(DefaultDriverOption.REQUEST_CONSISTENCY, readOnly ? READ_CONSISTENCY : WRITE_CONSISTENCY);
+    }
+}
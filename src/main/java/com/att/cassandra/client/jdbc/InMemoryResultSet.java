@@ -0,0 +1,286 @@
+package com.att.cassandra.client.jdbc;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result set over rows already in memory, used for {@link java.sql.DatabaseMetaData} results.
+ * The rows are shared and never modified.
+ */
+final class InMemoryResultSet extends ForwardOnlyResultSet {
+
+    record Column(String label, int sqlType) {
+    }
+
+    private final Column[] columns;
+    private final List<Object[]> rows;
+    private final Map<String, Integer> labels = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    // 0 before the first row, rows.size() + 1 after the last
+    private int position;
+    private volatile boolean closed = false;
+
+    InMemoryResultSet(Column[] columns, List<Object[]> rows) {
+        this.columns = columns;
+        this.rows = rows;
+        for (int i = columns.length - 1; i >= 0; i--) {
+            labels.put(columns[i].label(), i + 1);
+        }
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        checkOpen();
+        if (position <= rows.size()) {
+            position++;
+        }
+        return position <= rows.size();
+    }
+
+    @Override
+    Object value(int columnIndex) throws SQLException {
+        checkOpen();
+        if (position < 1 || position > rows.size()) {
+            throw new SQLException("No current row");
+        }
+        if (columnIndex < 1 || columnIndex > columns.length) {
+            throw new SQLException("Column index out of range: " + columnIndex);
+        }
+        Object value = rows.get(position - 1)[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        checkOpen();
+        Integer index = labels.get(columnLabel);
+        if (index == null) {
+            throw new SQLException("No column named " + columnLabel);
+        }
+        return index;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        checkOpen();
+        return position == 0 && !rows.isEmpty();
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        checkOpen();
+        return position > rows.size() && !rows.isEmpty();
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        checkOpen();
+        return position == 1 && !rows.isEmpty();
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        checkOpen();
+        return position == rows.size() && !rows.isEmpty();
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        checkOpen();
+        return position >= 1 && position <= rows.size() ? position : 0;
+    }
+
+    @Override
+    public int getFetchSize() {
+        return 0;
+    }
+
+    @Override
+    public Statement getStatement() {
+        return null;
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        checkOpen();
+        return new MetaData();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLFeatureNotSupportedException("unwrap not supported for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    private final class MetaData implements ResultSetMetaData {
+
+        private Column column(int column) throws SQLException {
+            if (column < 1 || column > columns.length) {
+                throw new SQLException("Column index out of range: " + column);
+            }
+            return columns[column - 1];
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+
+        @Override
+        public boolean isAutoIncrement(int column) {
+            return false;
+        }
+
+        @Override
+        public boolean isCaseSensitive(int column) throws SQLException {
+            return column(column).sqlType() == Types.VARCHAR;
+        }
+
+        @Override
+        public boolean isSearchable(int column) {
+            return false;
+        }
+
+        @Override
+        public boolean isCurrency(int column) {
+            return false;
+        }
+
+        @Override
+        public int isNullable(int column) {
+            return columnNullableUnknown;
+        }
+
+        @Override
+        public boolean isSigned(int column) throws SQLException {
+            int type = column(column).sqlType();
+            return type == Types.INTEGER || type == Types.SMALLINT || type == Types.BIGINT;
+        }
+
+        @Override
+        public int getColumnDisplaySize(int column) {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public String getColumnLabel(int column) throws SQLException {
+            return column(column).label();
+        }
+
+        @Override
+        public String getColumnName(int column) throws SQLException {
+            return column(column).label();
+        }
+
+        @Override
+        public String getSchemaName(int column) {
+            return "";
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            return 0;
+        }
+
+        @Override
+        public int getScale(int column) {
+            return 0;
+        }
+
+        @Override
+        public String getTableName(int column) {
+            return "";
+        }
+
+        @Override
+        public String getCatalogName(int column) {
+            return "";
+        }
+
+        @Override
+        public int getColumnType(int column) throws SQLException {
+            return column(column).sqlType();
+        }
+
+        @Override
+        public String getColumnTypeName(int column) throws SQLException {
+            switch (column(column).sqlType()) {
+                case Types.INTEGER:
+                    return "INTEGER";
+                case Types.SMALLINT:
+                    return "SMALLINT";
+                case Types.BIGINT:
+                    return "BIGINT";
+                case Types.BOOLEAN:
+                    return "BOOLEAN";
+                default:
+                    return "VARCHAR";
+            }
+        }
+
+        @Override
+        public boolean isReadOnly(int column) {
+            return true;
+        }
+
+        @Override
+        public boolean isWritable(int column) {
+            return false;
+        }
+
+        @Override
+        public boolean isDefinitelyWritable(int column) {
+            return false;
+        }
+
+        @Override
+        public String getColumnClassName(int column) throws SQLException {
+            switch (column(column).sqlType()) {
+                case Types.INTEGER:
+                    return Integer.class.getName();
+                case Types.SMALLINT:
+                    return Short.class.getName();
+                case Types.BIGINT:
+                    return Long.class.getName();
+                case Types.BOOLEAN:
+                    return Boolean.class.getName();
+                default:
+                    return String.class.getName();
+            }
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLFeatureNotSupportedException("unwrap not supported for " + iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}
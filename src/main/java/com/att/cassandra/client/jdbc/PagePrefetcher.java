@@ -0,0 +1,102 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Keeps up to {@code depth} pages of a result requested ahead of the page being read, so the next
+ * page is usually already in memory when the reader gets to it. Each page can only be requested once
+ * the one before it has arrived, so the requests form a chain; at most {@code depth} pages beyond the
+ * current one are ever held. With a depth of 0 pages are fetched on demand.
+ *
+ * Not thread safe: used only by the thread reading the result set.
+ */
+final class PagePrefetcher {
+
+    static final int DEFAULT_DEPTH = 1;
+
+    private static final CompletableFuture<AsyncResultSet> NO_MORE_PAGES = CompletableFuture.completedFuture(null);
+
+    private final int depth;
+    private final ArrayDeque<CompletableFuture<AsyncResultSet>> ahead = new ArrayDeque<>();
+
+    // the most recently requested page; null once the last page has been requested
+    private CompletableFuture<AsyncResultSet> tail;
+    private volatile boolean closed = false;
+
+    PagePrefetcher(AsyncResultSet firstPage, int depth) {
+        this.depth = depth;
+        this.tail = firstPage.hasMorePages() ? CompletableFuture.completedFuture(firstPage) : null;
+        fill(depth);
+    }
+
+    /**
+     * Waits for the page after the last one returned, or returns null if there are no more pages.
+     */
+    AsyncResultSet next() throws SQLException {
+        if (ahead.isEmpty()) {
+            fill(1);
+        }
+        CompletableFuture<AsyncResultSet> page = ahead.poll();
+        if (page == null) {
+            return null;
+        }
+        AsyncResultSet result = CqlFutures.await(page);
+        fill(depth);
+        return result;
+    }
+
+    /**
+     * Whether pages are left to read, regardless of whether they have arrived yet.
+     */
+    boolean hasMorePages() {
+        CompletableFuture<AsyncResultSet> next = ahead.peek();
+        if (next != null) {
+            return !arrived(next) || next.join() != null;
+        }
+        if (tail != null && arrived(tail)) {
+            AsyncResultSet last = tail.join();
+            return last != null && last.hasMorePages();
+        }
+        return tail != null;
+    }
+
+    private static boolean arrived(CompletableFuture<AsyncResultSet> page) {
+        return page.isDone() && !page.isCompletedExceptionally();
+    }
+
+    /**
+     * Stops requesting pages. Requests already sent complete in the background and are discarded.
+     */
+    void close() {
+        closed = true;
+        ahead.clear();
+        tail = null;
+    }
+
+    private void fill(int target) {
+        while (tail != null && ahead.size() < target) {
+            if (arrived(tail)) {
+                AsyncResultSet last = tail.join();
+                if (last == null || !last.hasMorePages()) {
+                    tail = null;
+                    return;
+                }
+            }
+            CompletableFuture<AsyncResultSet> next = tail.thenCompose(this::fetchAfter);
+            ahead.add(next);
+            tail = next;
+        }
+    }
+
+    private CompletionStage<AsyncResultSet> fetchAfter(AsyncResultSet page) {
+        if (closed || page == null || !page.hasMorePages()) {
+            return NO_MORE_PAGES;
+        }
+        return page.fetchNextPage();
+    }
+}
@@ -0,0 +1,150 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of server-side prepared statements for one session, keyed by CQL text and shared
+ * by every logical connection on that session.
+ *
+ * Hits are a map lookup plus a timestamp write, with no lock. Concurrent misses for the same text
+ * share a single prepare round trip. Only a miss that grows the cache past its bound pays for
+ * eviction, which scans for the least recently used entry.
+ */
+public final class PreparedStatementCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final CqlSession session;
+    private final int maxSize;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PreparedStatementCache(CqlSession session, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("preparedStatementCacheSize must be at least 1 but was " + maxSize);
+        }
+        this.session = session;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the prepared statement for {@code cql}, preparing it on the server on a miss.
+     */
+    public PreparedStatement prepare(String cql) throws SQLException {
+        return CqlFutures.await(prepareAsync(cql));
+    }
+
+    public CompletionStage<PreparedStatement> prepareAsync(String cql) {
+        Entry entry = entries.get(cql);
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = entries.putIfAbsent(cql, created);
+            if (entry == null) {
+                misses.increment();
+                log.trace("Preparing CQL: {}", cql);
+                session.prepareAsync(cql).whenComplete((prepared, error) -> {
+                    if (error != null) {
+                        // don't cache failures; the next caller prepares again
+                        entries.remove(cql, created);
+                        created.future.completeExceptionally(error);
+                    } else {
+                        created.future.complete(prepared);
+                    }
+                });
+                evictIfNeeded();
+                return created.future.minimalCompletionStage();
+            }
+        }
+        entry.lastUsed = System.nanoTime();
+        hits.increment();
+        return entry.future.minimalCompletionStage();
+    }
+
+    private void evictIfNeeded() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        synchronized (evictionLock) {
+            while (entries.size() > maxSize) {
+                Map.Entry<String, Entry> eldest = null;
+                for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+                    if (eldest == null || candidate.getValue().lastUsed - eldest.getValue().lastUsed < 0) {
+                        eldest = candidate;
+                    }
+                }
+                if (eldest == null) {
+                    return;
+                }
+                if (entries.remove(eldest.getKey(), eldest.getValue())) {
+                    evictions.increment();
+                    log.trace("Evicted prepared statement: {}", eldest.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops every cached statement; they are prepared again on next use.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Fraction of lookups served from the cache, or 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedStatementCache{size=" + size() + "/" + maxSize
+                + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "}";
+    }
+
+    private static final class Entry {
+
+        final CompletableFuture<PreparedStatement> future = new CompletableFuture<>();
+        volatile long lastUsed = System.nanoTime();
+    }
+}
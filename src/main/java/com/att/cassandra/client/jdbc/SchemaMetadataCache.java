@@ -0,0 +1,363 @@
+package com.att.cassandra.client.jdbc;
+
+import com.att.cassandra.client.jdbc.InMemoryResultSet.Column;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.IndexMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.SchemaChangeListenerBase;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.session.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * JDBC catalog rows (schemas, tables, columns, keys, indexes) built from the driver's schema
+ * {@link Metadata} on first use and kept until the schema changes.
+ *
+ * Registered as the session's schema change listener, so a change only drops the rows of the keyspace
+ * or table it affects. Rows built while a change arrives are returned but not kept, so a stale
+ * snapshot never outlives the change that made it stale. Lookups of keyspaces or tables that don't
+ * exist aren't kept either, so arbitrary names can't grow the cache. A cache that isn't registered
+ * with a session builds every answer afresh.
+ */
+public final class SchemaMetadataCache extends SchemaChangeListenerBase {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMetadataCache.class);
+
+    static final Column[] SCHEMA_COLUMNS = {
+            new Column("TABLE_SCHEM", Types.VARCHAR),
+            new Column("TABLE_CATALOG", Types.VARCHAR)
+    };
+
+    static final Column[] TABLE_COLUMNS = {
+            new Column("TABLE_CAT", Types.VARCHAR),
+            new Column("TABLE_SCHEM", Types.VARCHAR),
+            new Column("TABLE_NAME", Types.VARCHAR),
+            new Column("TABLE_TYPE", Types.VARCHAR),
+            new Column("REMARKS", Types.VARCHAR),
+            new Column("TYPE_CAT", Types.VARCHAR),
+            new Column("TYPE_SCHEM", Types.VARCHAR),
+            new Column("TYPE_NAME", Types.VARCHAR),
+            new Column("SELF_REFERENCING_COL_NAME", Types.VARCHAR),
+            new Column("REF_GENERATION", Types.VARCHAR)
+    };
+
+    static final Column[] COLUMN_COLUMNS = {
+            new Column("TABLE_CAT", Types.VARCHAR),
+            new Column("TABLE_SCHEM", Types.VARCHAR),
+            new Column("TABLE_NAME", Types.VARCHAR),
+            new Column("COLUMN_NAME", Types.VARCHAR),
+            new Column("DATA_TYPE", Types.INTEGER),
+            new Column("TYPE_NAME", Types.VARCHAR),
+            new Column("COLUMN_SIZE", Types.INTEGER),
+            new Column("BUFFER_LENGTH", Types.INTEGER),
+            new Column("DECIMAL_DIGITS", Types.INTEGER),
+            new Column("NUM_PREC_RADIX", Types.INTEGER),
+            new Column("NULLABLE", Types.INTEGER),
+            new Column("REMARKS", Types.VARCHAR),
+            new Column("COLUMN_DEF", Types.VARCHAR),
+            new Column("SQL_DATA_TYPE", Types.INTEGER),
+            new Column("SQL_DATETIME_SUB", Types.INTEGER),
+            new Column("CHAR_OCTET_LENGTH", Types.INTEGER),
+            new Column("ORDINAL_POSITION", Types.INTEGER),
+            new Column("IS_NULLABLE", Types.VARCHAR),
+            new Column("SCOPE_CATALOG", Types.VARCHAR),
+            new Column("SCOPE_SCHEMA", Types.VARCHAR),
+            new Column("SCOPE_TABLE", Types.VARCHAR),
+            new Column("SOURCE_DATA_TYPE", Types.SMALLINT),
+            new Column("IS_AUTOINCREMENT", Types.VARCHAR),
+            new Column("IS_GENERATEDCOLUMN", Types.VARCHAR)
+    };
+
+    static final Column[] PRIMARY_KEY_COLUMNS = {
+            new Column("TABLE_CAT", Types.VARCHAR),
+            new Column("TABLE_SCHEM", Types.VARCHAR),
+            new Column("TABLE_NAME", Types.VARCHAR),
+            new Column("COLUMN_NAME", Types.VARCHAR),
+            new Column("KEY_SEQ", Types.SMALLINT),
+            new Column("PK_NAME", Types.VARCHAR)
+    };
+
+    static final Column[] INDEX_COLUMNS = {
+            new Column("TABLE_CAT", Types.VARCHAR),
+            new Column("TABLE_SCHEM", Types.VARCHAR),
+            new Column("TABLE_NAME", Types.VARCHAR),
+            new Column("NON_UNIQUE", Types.BOOLEAN),
+            new Column("INDEX_QUALIFIER", Types.VARCHAR),
+            new Column("INDEX_NAME", Types.VARCHAR),
+            new Column("TYPE", Types.SMALLINT),
+            new Column("ORDINAL_POSITION", Types.SMALLINT),
+            new Column("COLUMN_NAME", Types.VARCHAR),
+            new Column("ASC_OR_DESC", Types.VARCHAR),
+            new Column("CARDINALITY", Types.BIGINT),
+            new Column("PAGES", Types.BIGINT),
+            new Column("FILTER_CONDITION", Types.VARCHAR)
+    };
+
+    static final String TABLE = "TABLE";
+    static final String SYSTEM_TABLE = "SYSTEM TABLE";
+
+    // returned, and never cached, for a keyspace that doesn't exist
+    private static final List<Object[]> NO_KEYSPACE = List.of();
+
+    private volatile Session session;
+    private volatile boolean registered = false;
+
+    // bumped on every schema change; rows built across a bump are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile List<Object[]> schemas;
+    private final Map<String, List<Object[]>> tablesByKeyspace = new ConcurrentHashMap<>();
+    private final Map<TableKey, TableRows> tableRows = new ConcurrentHashMap<>();
+
+    /**
+     * A cache to be passed to the session builder as its schema change listener, then {@link #attach}ed
+     * to the session it builds.
+     */
+    public SchemaMetadataCache() {
+        this.registered = true;
+    }
+
+    /**
+     * A cache for a session it isn't registered with; nothing is kept between calls.
+     */
+    public static SchemaMetadataCache uncached(Session session) {
+        SchemaMetadataCache cache = new SchemaMetadataCache();
+        cache.registered = false;
+        cache.attach(session);
+        return cache;
+    }
+
+    public void attach(Session session) {
+        this.session = session;
+    }
+
+    private Metadata metadata() {
+        Session current = session;
+        if (current == null) {
+            throw new IllegalStateException("SchemaMetadataCache is not attached to a session");
+        }
+        return current.getMetadata();
+    }
+
+    /**
+     * Rows for {@link DatabaseMetaData#getSchemas()}: one per keyspace, by name.
+     */
+    List<Object[]> schemas() {
+        List<Object[]> rows = schemas;
+        if (rows == null) {
+            long before = generation.get();
+            rows = buildSchemas();
+            if (registered && generation.get() == before) {
+                schemas = rows;
+                // a change that arrived after the check may have cleared the field before our write
+                if (generation.get() != before) {
+                    schemas = null;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Rows for {@link DatabaseMetaData#getTables}, for one keyspace; empty if it doesn't exist.
+     */
+    List<Object[]> tables(String keyspace) {
+        return cached(tablesByKeyspace, keyspace, () -> buildTables(keyspace), NO_KEYSPACE);
+    }
+
+    List<Object[]> columns(String keyspace, String table) {
+        return tableRows(keyspace, table).columns;
+    }
+
+    List<Object[]> primaryKeys(String keyspace, String table) {
+        return tableRows(keyspace, table).primaryKeys;
+    }
+
+    List<Object[]> indexes(String keyspace, String table) {
+        return tableRows(keyspace, table).indexes;
+    }
+
+    private TableRows tableRows(String keyspace, String table) {
+        return cached(tableRows, new TableKey(keyspace, table), () -> buildTableRows(keyspace, table), TableRows.EMPTY);
+    }
+
+    /**
+     * Returns the cached value for {@code key}, building it on a miss. {@code missing} is what the
+     * builder returns for a keyspace or table that doesn't exist; it is never cached.
+     */
+    private <K, V> V cached(Map<K, V> cache, K key, Supplier<V> builder, V missing) {
+        V value = cache.get(key);
+        if (value == null) {
+            long before = generation.get();
+            value = builder.get();
+            if (registered && value != missing && generation.get() == before) {
+                cache.put(key, value);
+                // a change that arrived after the check may have run its removal before our put
+                if (generation.get() != before) {
+                    cache.remove(key, value);
+                }
+            }
+        }
+        return value;
+    }
+
+    private List<Object[]> buildSchemas() {
+        List<Object[]> rows = new ArrayList<>();
+        for (KeyspaceMetadata keyspace : metadata().getKeyspaces().values()) {
+            rows.add(new Object[]{keyspace.getName().asInternal(), null});
+        }
+        rows.sort(Comparator.comparing(row -> (String) row[0]));
+        return Collections.unmodifiableList(rows);
+    }
+
+    private List<Object[]> buildTables(String keyspaceName) {
+        KeyspaceMetadata keyspace = metadata().getKeyspace(keyspaceName).orElse(null);
+        if (keyspace == null) {
+            return NO_KEYSPACE;
+        }
+        String type = keyspaceName.startsWith("system") ? SYSTEM_TABLE : TABLE;
+        List<Object[]> rows = new ArrayList<>();
+        for (TableMetadata table : keyspace.getTables().values()) {
+            rows.add(new Object[]{null, keyspaceName, table.getName().asInternal(), type, null, null, null, null, null, null});
+        }
+        rows.sort(Comparator.comparing(row -> (String) row[2]));
+        return Collections.unmodifiableList(rows);
+    }
+
+    private TableRows buildTableRows(String keyspaceName, String tableName) {
+        TableMetadata table = metadata().getKeyspace(keyspaceName)
+                .map(keyspace -> findTable(keyspace, tableName))
+                .orElse(null);
+        if (table == null) {
+            return TableRows.EMPTY;
+        }
+
+        Set<ColumnMetadata> primaryKey = new HashSet<>(table.getPartitionKey());
+        primaryKey.addAll(table.getClusteringColumns().keySet());
+
+        List<Object[]> columns = new ArrayList<>();
+        int position = 1;
+        for (ColumnMetadata column : table.getColumns().values()) {
+            boolean key = primaryKey.contains(column);
+            int sqlType = CqlTypes.sqlType(column.getType());
+            columns.add(new Object[]{
+                    null, keyspaceName, tableName, column.getName().asInternal(),
+                    sqlType, column.getType().asCql(false, true),
+                    null, null, null, CqlTypes.isSigned(column.getType()) ? 10 : null,
+                    key ? DatabaseMetaData.columnNoNulls : DatabaseMetaData.columnNullable,
+                    column.isStatic() ? "static" : null, null, null, null, null,
+                    position++, key ? "NO" : "YES",
+                    null, null, null, null, "NO", "NO"
+            });
+        }
+
+        List<Object[]> primaryKeys = new ArrayList<>();
+        short sequence = 1;
+        for (ColumnMetadata column : table.getPartitionKey()) {
+            primaryKeys.add(new Object[]{null, keyspaceName, tableName, column.getName().asInternal(), sequence++, "PRIMARY"});
+        }
+        for (ColumnMetadata column : table.getClusteringColumns().keySet()) {
+            primaryKeys.add(new Object[]{null, keyspaceName, tableName, column.getName().asInternal(), sequence++, "PRIMARY"});
+        }
+
+        List<Object[]> indexes = new ArrayList<>();
+        for (IndexMetadata index : table.getIndexes().values()) {
+            indexes.add(new Object[]{
+                    null, keyspaceName, tableName, true, null, index.getName().asInternal(),
+                    DatabaseMetaData.tableIndexOther, (short) 1, index.getTarget(), null, 0L, 0L, null
+            });
+        }
+        indexes.sort(Comparator.comparing(row -> (String) row[5]));
+
+        return new TableRows(Collections.unmodifiableList(columns),
+                Collections.unmodifiableList(primaryKeys),
+                Collections.unmodifiableList(indexes));
+    }
+
+    private static TableMetadata findTable(KeyspaceMetadata keyspace, String tableName) {
+        for (TableMetadata table : keyspace.getTables().values()) {
+            if (table.getName().asInternal().equals(tableName)) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    private void invalidateKeyspace(KeyspaceMetadata keyspace) {
+        String name = keyspace.getName().asInternal();
+        generation.incrementAndGet();
+        schemas = null;
+        tablesByKeyspace.remove(name);
+        tableRows.keySet().removeIf(key -> key.keyspace().equals(name));
+        log.debug("Schema metadata cache invalidated for keyspace {}", name);
+    }
+
+    private void invalidateTable(TableMetadata table, boolean listChanged) {
+        String keyspace = table.getKeyspace().asInternal();
+        generation.incrementAndGet();
+        if (listChanged) {
+            tablesByKeyspace.remove(keyspace);
+        }
+        tableRows.remove(new TableKey(keyspace, table.getName().asInternal()));
+        log.debug("Schema metadata cache invalidated for table {}.{}", keyspace, table.getName().asInternal());
+    }
+
+    @Override
+    public void onKeyspaceCreated(KeyspaceMetadata keyspace) {
+        invalidateKeyspace(keyspace);
+    }
+
+    @Override
+    public void onKeyspaceDropped(KeyspaceMetadata keyspace) {
+        invalidateKeyspace(keyspace);
+    }
+
+    @Override
+    public void onKeyspaceUpdated(KeyspaceMetadata current, KeyspaceMetadata previous) {
+        // replication changes don't affect any cached row
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void onTableCreated(TableMetadata table) {
+        invalidateTable(table, true);
+    }
+
+    @Override
+    public void onTableDropped(TableMetadata table) {
+        invalidateTable(table, true);
+    }
+
+    @Override
+    public void onTableUpdated(TableMetadata current, TableMetadata previous) {
+        invalidateTable(current, false);
+    }
+
+    @Override
+    public void close() {
+        // nothing to release; overridden to narrow the inherited throws clause
+    }
+
+    private record TableKey(String keyspace, String table) {
+    }
+
+    private record TableRows(List<Object[]> columns, List<Object[]> primaryKeys, List<Object[]> indexes) {
+
+        static final TableRows EMPTY = new TableRows(List.of(), List.of(), List.of());
+    }
+}
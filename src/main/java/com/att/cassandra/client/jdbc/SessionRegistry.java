@@ -0,0 +1,116 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.metadata.schema.SchemaChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Process-wide, reference-counted {@link CqlSession}s keyed by {@link CassandraUrl#normalized()}, so
+ * JDBC connections are cheap logical handles instead of each owning event loops, metadata and a pool
+ * of authenticated node connections. The first caller for a key builds the session; concurrent
+ * callers for the same key wait for that build instead of starting their own.
+ */
+public final class SessionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionRegistry.class);
+
+    /**
+     * Builds the session for a URL; {@code listener} must be registered with it as its schema change listener.
+     */
+    @FunctionalInterface
+    public interface SessionFactory {
+        CqlSession create(CassandraUrl url, SchemaChangeListener listener) throws SQLException;
+    }
+
+    // guarded by SessionRegistry.class
+    private static final Map<String, CompletableFuture<SharedSession>> sessions = new HashMap<>();
+
+    private SessionRegistry() {
+    }
+
+    public static SharedSession acquire(CassandraUrl url, SessionFactory factory) throws SQLException {
+        String key = url.normalized();
+        CompletableFuture<SharedSession> pending;
+        boolean creator = false;
+
+        synchronized (SessionRegistry.class) {
+            pending = sessions.get(key);
+            if (pending == null) {
+                pending = new CompletableFuture<>();
+                sessions.put(key, pending);
+                creator = true;
+            }
+        }
+
+        if (creator) {
+            log.debug("No shared CqlSession for this URL yet, building one");
+            try {
+                SchemaMetadataCache schemaMetadata = new SchemaMetadataCache();
+                pending.complete(new SharedSession(key, factory.create(url, schemaMetadata), url, schemaMetadata));
+            } catch (SQLException | RuntimeException e) {
+                synchronized (SessionRegistry.class) {
+                    sessions.remove(key, pending);
+                }
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        SharedSession shared;
+        try {
+            shared = pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw new SQLException(e.getCause().getMessage(), e.getCause());
+            }
+            throw new SQLException("Unable to create shared Cassandra session", e.getCause());
+        }
+
+        synchronized (SessionRegistry.class) {
+            if (sessions.get(key) != pending) {
+                // released to zero and closed between the build and now; start over
+                log.debug("Shared CqlSession was closed concurrently, acquiring again");
+                return acquire(url, factory);
+            }
+            shared.references++;
+            log.debug("Acquired shared CqlSession ({} references)", shared.references);
+        }
+        return shared;
+    }
+
+    /**
+     * Number of distinct sessions currently shared.
+     */
+    public static synchronized int size() {
+        return sessions.size();
+    }
+
+    static synchronized void retain(SharedSession shared) {
+        if (shared.references <= 0) {
+            throw new IllegalStateException("Shared CqlSession has already been closed");
+        }
+        shared.references++;
+    }
+
+    // Returns true if the caller dropped the last reference and must close the session
+    static synchronized boolean release(SharedSession shared) {
+        if (shared.references <= 0) {
+            log.trace("release() called on a shared session with no references");
+            return false;
+        }
+        shared.references--;
+        log.debug("Released shared CqlSession ({} references left)", shared.references);
+        if (shared.references == 0) {
+            sessions.remove(shared.getKey());
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.NodeState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Answers {@link java.sql.Connection#isValid(int)} for every connection on a session.
+ *
+ * A session is valid if some node is up and has open pool connections; the driver only opens pools
+ * to nodes the load balancing policy will use, so this needs no round trip. Otherwise
+ * {@code system.local} is queried within the caller's timeout. Answers are reused for
+ * {@code cacheFor}, so validating on every pool borrow doesn't cost a check each time.
+ */
+final class SessionValidator {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionValidator.class);
+
+    static final long DEFAULT_CACHE_MILLIS = 1000;
+
+    private static final String PING = "SELECT release_version FROM system.local";
+
+    private final CqlSession session;
+    private final long cacheForNanos;
+
+    private volatile Result last;
+
+    SessionValidator(CqlSession session, long cacheForMillis) {
+        this.session = session;
+        this.cacheForNanos = TimeUnit.MILLISECONDS.toNanos(cacheForMillis);
+    }
+
+    /**
+     * @param timeoutSeconds how long a ping may take; 0 leaves it to the driver's request timeout
+     */
+    boolean isValid(int timeoutSeconds) {
+        if (session.isClosed()) {
+            return false;
+        }
+        long now = System.nanoTime();
+        Result cached = last;
+        if (cached != null && now - cached.checkedAt < cacheForNanos) {
+            return cached.valid;
+        }
+        boolean valid = hasLivePool() || ping(timeoutSeconds);
+        if (!Thread.currentThread().isInterrupted()) {
+            last = new Result(valid, System.nanoTime());
+        }
+        return valid;
+    }
+
+    private boolean hasLivePool() {
+        for (Node node : session.getMetadata().getNodes().values()) {
+            if (node.getState() == NodeState.UP && node.getOpenConnections() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean ping(int timeoutSeconds) {
+        log.debug("No node has open connections, validating session with a query");
+        SimpleStatement ping = SimpleStatement.newInstance(PING);
+        if (timeoutSeconds > 0) {
+            ping = ping.setTimeout(Duration.ofSeconds(timeoutSeconds));
+        }
+        try {
+            if (timeoutSeconds > 0) {
+                session.executeAsync(ping).toCompletableFuture().get(timeoutSeconds, TimeUnit.SECONDS);
+            } else {
+                session.executeAsync(ping).toCompletableFuture().get();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            log.warn("Session validation query failed: {}", e.toString());
+            return false;
+        }
+    }
+
+    private record Result(boolean valid, long checkedAt) {
+    }
+}
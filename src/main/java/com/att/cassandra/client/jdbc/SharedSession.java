@@ -0,0 +1,87 @@
+package com.att.cassandra.client.jdbc;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link CqlSession} shared by every JDBC connection opened with the same normalized URL.
+ * Obtained from {@link SessionRegistry}; the session is closed when the last holder releases it.
+ */
+public final class SharedSession {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedSession.class);
+
+    private final String key;
+    private final CqlSession session;
+    private final CassandraUrl url;
+    private final PreparedStatementCache preparedStatements;
+    private final BatchExecutor batchExecutor;
+    private final SchemaMetadataCache schemaMetadata;
+    private final SessionValidator validator;
+
+    // guarded by SessionRegistry.class
+    int references;
+
+    SharedSession(String key, CqlSession session, CassandraUrl url, SchemaMetadataCache schemaMetadata) {
+        this.key = key;
+        this.session = session;
+        this.url = url;
+        this.preparedStatements = new PreparedStatementCache(session, url.preparedStatementCacheSize);
+        this.batchExecutor = new BatchExecutor(session, url.batchMaxStatements, url.batchMaxBytes, url.batchConcurrency);
+        this.schemaMetadata = schemaMetadata;
+        this.validator = new SessionValidator(session, url.validationCacheMillis);
+        schemaMetadata.attach(session);
+    }
+
+    public CqlSession getSession() {
+        return session;
+    }
+
+    /**
+     * The URL the session was built from; its JDBC options are the defaults for every connection on it.
+     */
+    public CassandraUrl getUrl() {
+        return url;
+    }
+
+    public PreparedStatementCache getPreparedStatementCache() {
+        return preparedStatements;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    public BatchExecutor getBatchExecutor() {
+        return batchExecutor;
+    }
+
+    /**
+     * Catalog rows for {@link java.sql.DatabaseMetaData}, kept current by the session's schema events.
+     */
+    public SchemaMetadataCache getSchemaMetadata() {
+        return schemaMetadata;
+    }
+
+    SessionValidator getValidator() {
+        return validator;
+    }
+
+    /**
+     * Adds a reference for another holder of this already-acquired session, without a registry lookup.
+     */
+    public void retain() {
+        SessionRegistry.retain(this);
+    }
+
+    /**
+     * Drops one reference; closes the session if it was the last one.
+     */
+    public void release() {
+        if (SessionRegistry.release(this)) {
+            log.info("Last JDBC connection released, closing shared CqlSession ({})", preparedStatements);
+            session.close();
+        }
+    }
+}
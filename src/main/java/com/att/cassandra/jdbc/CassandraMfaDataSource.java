@@ -0,0 +1,218 @@
+package com.att.cassandra.jdbc;
+
+import com.att.cassandra.client.jdbc.CassandraMfaConnection;
+import com.att.cassandra.client.jdbc.CassandraUrl;
+import com.att.cassandra.client.jdbc.PreparedStatementCache;
+import com.att.cassandra.client.jdbc.SessionRegistry;
+import com.att.cassandra.client.jdbc.SharedSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.DataSource;
+import javax.sql.PooledConnection;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * {@link DataSource} and {@link ConnectionPoolDataSource} for {@code jdbc:cassandra-mfa://} URLs.
+ *
+ * The data source holds one reference to the shared MFA session (and through it the token provider)
+ * from {@link #warmUp()} until {@link #close()}. Connections are logical handles over that session,
+ * so handing one out costs no network round trip. User and password arguments are ignored; the
+ * Azure AD identity comes from the URL or properties.
+ *
+ * A login timeout bounds connecting to each node and its authentication handshake while the session
+ * is built (the URL's {@code loginTimeout} option); it has no effect when the session is already shared.
+ */
+public class CassandraMfaDataSource implements DataSource, ConnectionPoolDataSource, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CassandraMfaDataSource.class);
+
+    private String url;
+    private Properties properties = new Properties();
+    private PrintWriter logWriter;
+    private int loginTimeout;
+
+    // guarded by this
+    private SharedSession session;
+
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicInteger peakActiveConnections = new AtomicInteger();
+    private final AtomicInteger openPooledConnections = new AtomicInteger();
+    private final AtomicLong connectionsCreated = new AtomicLong();
+
+    public CassandraMfaDataSource() {
+    }
+
+    public CassandraMfaDataSource(String url, Properties properties) {
+        this.url = url;
+        setProperties(properties);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Properties getProperties() {
+        return properties;
+    }
+
+    public void setProperties(Properties properties) {
+        this.properties = properties != null ? properties : new Properties();
+    }
+
+    /**
+     * Builds (or joins) the shared session now, so the first {@link #getConnection()} doesn't pay for it.
+     */
+    public synchronized void warmUp() throws SQLException {
+        if (session != null) {
+            return;
+        }
+        if (url == null) {
+            throw new SQLException("CassandraMfaDataSource url is not set");
+        }
+        log.info("Warming up CassandraMfaDataSource");
+        Properties info = properties;
+        if (loginTimeout > 0 && info.getProperty(CassandraUrl.LOGIN_TIMEOUT) == null) {
+            info = new Properties();
+            info.putAll(properties);
+            info.setProperty(CassandraUrl.LOGIN_TIMEOUT, Integer.toString(loginTimeout));
+        }
+        CassandraUrl parsed = CassandraUrl.parse(url, info);
+        session = SessionRegistry.acquire(parsed, CassandraMfaDriver::openSession);
+        log.info("CassandraMfaDataSource ready");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        SharedSession shared = retainSession();
+        return newLogicalConnection(shared, shared::release, e -> {
+        });
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        log.trace("Ignoring username/password; Azure AD credentials come from the URL");
+        return getConnection();
+    }
+
+    @Override
+    public PooledConnection getPooledConnection() throws SQLException {
+        SharedSession shared = retainSession();
+        openPooledConnections.incrementAndGet();
+        return new CassandraMfaPooledConnection(this, shared);
+    }
+
+    @Override
+    public PooledConnection getPooledConnection(String user, String password) throws SQLException {
+        return getPooledConnection();
+    }
+
+    /**
+     * Releases the data source's own reference to the shared session. Connections still open keep it alive.
+     */
+    @Override
+    public synchronized void close() {
+        if (session != null) {
+            log.info("Closing CassandraMfaDataSource");
+            session.release();
+            session = null;
+        }
+    }
+
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    public int getPeakActiveConnections() {
+        return peakActiveConnections.get();
+    }
+
+    public int getOpenPooledConnections() {
+        return openPooledConnections.get();
+    }
+
+    public long getConnectionsCreated() {
+        return connectionsCreated.get();
+    }
+
+    /**
+     * The shared session's prepared statement cache, with its hit and eviction counts; null before {@link #warmUp()}.
+     */
+    public synchronized PreparedStatementCache getPreparedStatementCache() {
+        return session != null ? session.getPreparedStatementCache() : null;
+    }
+
+    Connection newLogicalConnection(SharedSession shared, Runnable onClose, Consumer<SQLException> onFatalError) {
+        int active = activeConnections.incrementAndGet();
+        peakActiveConnections.accumulateAndGet(active, Math::max);
+        connectionsCreated.incrementAndGet();
+        return new CassandraMfaConnection(shared, () -> {
+            activeConnections.decrementAndGet();
+            onClose.run();
+        }, onFatalError);
+    }
+
+    void pooledConnectionClosed() {
+        openPooledConnections.decrementAndGet();
+    }
+
+    // Retained under the same lock close() takes, so a concurrent close() can't release it first
+    private synchronized SharedSession retainSession() throws SQLException {
+        warmUp();
+        session.retain();
+        return session;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        this.logWriter = out;
+    }
+
+    /**
+     * Applies to the session built by the next {@link #warmUp()}; 0 leaves the driver's connect timeouts.
+     */
+    @Override
+    public void setLoginTimeout(int seconds) {
+        this.loginTimeout = seconds;
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return loginTimeout;
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return java.util.logging.Logger.getLogger("CassandraMfaDataSource");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLFeatureNotSupportedException("unwrap not supported for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -3,14 +3,25 @@ package com.att.cassandra.jdbc;
 import com.att.cassandra.client.AzureAdAuthProvider;
 import com.att.cassandra.client.AzureAdTokenProvider;
 import com.att.cassandra.client.SslUtil;
+import com.att.cassandra.client.TokenProviderRegistry;
 import com.att.cassandra.client.jdbc.CassandraMfaConnection;
 import com.att.cassandra.client.jdbc.CassandraUrl;
+import com.att.cassandra.client.jdbc.ContactPoints;
+import com.att.cassandra.client.jdbc.ExecutionProfiles;
+import com.att.cassandra.client.jdbc.SessionRegistry;
+import com.att.cassandra.client.jdbc.SharedSession;
+import com.datastax.oss.driver.api.core.AllNodesFailedException;
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.auth.AuthenticationException;
+import com.datastax.oss.driver.api.core.metadata.schema.SchemaChangeListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.sql.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 public class CassandraMfaDriver implements Driver {
@@ -39,31 +50,89 @@ public class CassandraMfaDriver implements Driver {
         log.debug("Parsing JDBC URL");
         CassandraUrl parsed = CassandraUrl.parse(url, info);
 
-        log.debug("Creating AzureAdTokenProvider for tenant: {}", parsed.tenantId);
-        AzureAdTokenProvider tokenProvider = new AzureAdTokenProvider(
-                parsed.tenantId,
-                parsed.clientId,
-                parsed.clientSecret,
-                parsed.scope
-        );
+        SharedSession shared = SessionRegistry.acquire(parsed, CassandraMfaDriver::openSession);
+        log.info("JDBC connection established successfully");
+        return new CassandraMfaConnection(shared);
+    }
 
+    /**
+     * Builds the session shared by all connections for a URL. If Cassandra rejects the Azure AD token,
+     * the token it was presented is invalidated and the build retried exactly once.
+     */
+    static CqlSession openSession(CassandraUrl parsed, SchemaChangeListener schemaListener) throws SQLException {
+        // Held for the whole build, so an invalidated token survives into the retry
+        AzureAdTokenProvider tokenProvider = acquireTokenProvider(parsed);
         try {
-            log.info("Building CqlSession to {}:{} in datacenter '{}'", parsed.host, parsed.port, parsed.localDc);
-            CqlSession session = CqlSession.builder()
-                    .addContactPoint(new InetSocketAddress(parsed.host, parsed.port))
+            try {
+                return buildSession(parsed, schemaListener);
+            } catch (SQLException e) {
+                if (authenticationFailures(e).isEmpty()) {
+                    throw e;
+                }
+                log.warn("Cassandra rejected the Azure AD token; retrying once with a new token");
+                return buildSession(parsed, schemaListener);
+            }
+        } finally {
+            tokenProvider.close();
+        }
+    }
+
+    private static CqlSession buildSession(CassandraUrl parsed, SchemaChangeListener schemaListener) throws SQLException {
+        List<InetSocketAddress> contactPoints = ContactPoints.resolve(parsed.contactPoints);
+        AzureAdAuthProvider authProvider = new AzureAdAuthProvider(acquireTokenProvider(parsed), true, parsed.authOptions);
+        try {
+            log.info("Building CqlSession to {} in datacenter '{}'", contactPoints, parsed.localDc);
+            return CqlSession.builder()
+                    .addContactPoints(contactPoints)
                     .withLocalDatacenter(parsed.localDc)
-                    .withAuthProvider(new AzureAdAuthProvider(tokenProvider))
+                    .withAuthProvider(authProvider)
                     .withSslContext(SslUtil.createSslContext(parsed.truststore, parsed.truststorePassword))
+                    .withConfigLoader(ExecutionProfiles.configLoader(parsed.loginTimeoutSeconds > 0
+                            ? Duration.ofSeconds(parsed.loginTimeoutSeconds)
+                            : null))
+                    .withSchemaChangeListener(schemaListener)
                     .build();
-
-            log.info("JDBC connection established successfully");
-            return new CassandraMfaConnection(session);
         } catch (Exception e) {
-            log.error("Failed to create Cassandra MFA connection to {}:{}", parsed.host, parsed.port, e);
+            log.error("Failed to create Cassandra MFA connection to {}", parsed.contactPointList(), e);
+            // invalidates the token the rejecting nodes were presented, not whatever is cached by now
+            for (AuthenticationException rejection : authenticationFailures(e)) {
+                authProvider.onAuthenticationRejected(rejection);
+            }
+            authProvider.close();
             throw new SQLException("Unable to create Cassandra MFA connection", e);
         }
     }
 
+    private static AzureAdTokenProvider acquireTokenProvider(CassandraUrl parsed) {
+        log.debug("Acquiring shared AzureAdTokenProvider for tenant: {}", parsed.tenantId);
+        return TokenProviderRegistry.acquire(
+                parsed.tenantId,
+                parsed.clientId,
+                parsed.clientSecret,
+                parsed.scope,
+                parsed.tokenOptions
+        );
+    }
+
+    private static List<AuthenticationException> authenticationFailures(Throwable e) {
+        List<AuthenticationException> failures = new ArrayList<>();
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof AuthenticationException) {
+                failures.add((AuthenticationException) t);
+            }
+            if (t instanceof AllNodesFailedException) {
+                for (List<Throwable> errors : ((AllNodesFailedException) t).getAllErrors().values()) {
+                    for (Throwable error : errors) {
+                        if (error instanceof AuthenticationException) {
+                            failures.add((AuthenticationException) error);
+                        }
+                    }
+                }
+            }
+        }
+        return failures;
+    }
+
     @Override
     public boolean acceptsURL(String url) {
         boolean accepts = url != null && url.startsWith("jdbc:cassandra-mfa://");
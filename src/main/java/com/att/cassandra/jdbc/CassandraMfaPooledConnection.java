@@ -0,0 +1,128 @@
+package com.att.cassandra.jdbc;
+
+import com.att.cassandra.client.jdbc.SharedSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+import javax.sql.StatementEventListener;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Physical connection handed to pool managers by {@link CassandraMfaDataSource}. It holds one reference
+ * to the shared session; each {@link #getConnection()} returns a logical handle whose close is reported
+ * to the registered listeners instead of tearing anything down. Failures that leave the session
+ * unusable (authentication rejected, no node reachable, session closed) are reported as connection errors.
+ */
+public class CassandraMfaPooledConnection implements PooledConnection {
+
+    private static final Logger log = LoggerFactory.getLogger(CassandraMfaPooledConnection.class);
+
+    private final CassandraMfaDataSource dataSource;
+    private final SharedSession session;
+    private final List<ConnectionEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    // guarded by this; handles are numbered so a superseded one closes without reporting to the pool
+    private Connection current;
+    private long generation;
+    private boolean closed;
+
+    CassandraMfaPooledConnection(CassandraMfaDataSource dataSource, SharedSession session) {
+        this.dataSource = dataSource;
+        this.session = session;
+        log.debug("CassandraMfaPooledConnection created");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection previous;
+        Connection handed;
+        synchronized (this) {
+            if (closed) {
+                throw new SQLException("PooledConnection is closed");
+            }
+            previous = current;
+            long handle = ++generation;
+            handed = dataSource.newLogicalConnection(session, () -> logicalConnectionClosed(handle), this::connectionError);
+            current = handed;
+        }
+        // per the JDBC spec, handing out a new handle closes the previous one; the pool lent this
+        // connection out again, so that close must not be reported as its return
+        closeQuietly(previous);
+        return handed;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        Connection previous;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            previous = current;
+            current = null;
+            generation++;
+        }
+        closeQuietly(previous);
+        dataSource.pooledConnectionClosed();
+        session.release();
+        log.debug("CassandraMfaPooledConnection closed");
+    }
+
+    @Override
+    public void addConnectionEventListener(ConnectionEventListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeConnectionEventListener(ConnectionEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void addStatementEventListener(StatementEventListener listener) {
+        // statements are not pooled
+    }
+
+    @Override
+    public void removeStatementEventListener(StatementEventListener listener) {
+        // statements are not pooled
+    }
+
+    // Called without the lock, since closing a handle takes its lock and then ours
+    private void closeQuietly(Connection previous) throws SQLException {
+        if (previous != null && !previous.isClosed()) {
+            log.debug("Invalidating previous logical connection");
+            previous.close();
+        }
+    }
+
+    private void logicalConnectionClosed(long handle) {
+        synchronized (this) {
+            if (handle != generation) {
+                log.trace("Superseded logical connection closed");
+                return;
+            }
+            current = null;
+        }
+        ConnectionEvent event = new ConnectionEvent(this);
+        for (ConnectionEventListener listener : listeners) {
+            listener.connectionClosed(event);
+        }
+        log.trace("Logical connection returned to pool");
+    }
+
+    private void connectionError(SQLException e) {
+        ConnectionEvent event = new ConnectionEvent(this, e);
+        for (ConnectionEventListener listener : listeners) {
+            listener.connectionErrorOccurred(event);
+        }
+        log.debug("Reported connection error to pool: {}", e.toString());
+    }
+}